@@ -0,0 +1,102 @@
+package team.chisel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import team.chisel.client.render.ConnectionLocations;
+import team.chisel.client.render.ctm.CTM;
+import team.chisel.client.render.ctx.CTMBlockRenderContext;
+import team.chisel.client.render.ctx.CTMVBlockRenderContext;
+
+/**
+ * Cost of computing connections for a single block, walking over the positions of a randomly filled world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConnectionBenchmark {
+
+    private static final int SIZE = 20;
+
+    /** Chance for each position to be a connecting block rather than air */
+    @Param({ "0.5", "0.9" })
+    public double density;
+
+    private SyntheticWorld world;
+    private BlockPos[] positions;
+    private long[] ctmData;
+    private int next;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Fixtures.bootstrap();
+        world = new SyntheticWorld(SIZE).fill(SIZE, density, Blocks.STONE.getDefaultState(), Blocks.STONEBRICK.getDefaultState());
+
+        int inner = SIZE - 4;
+        positions = new BlockPos[inner * inner * inner];
+        ctmData = new long[positions.length];
+        int i = 0;
+        for (int x = 2; x < SIZE - 2; x++) {
+            for (int y = 2; y < SIZE - 2; y++) {
+                for (int z = 2; z < SIZE - 2; z++) {
+                    positions[i] = new BlockPos(x, y, z);
+                    ctmData[i] = new CTMBlockRenderContext(world, positions[i]).getCompressedData();
+                    i++;
+                }
+            }
+        }
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == positions.length ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public void createSubmapIndices(Blackhole bh) {
+        BlockPos pos = positions[next()];
+        for (EnumFacing face : EnumFacing.VALUES) {
+            bh.consume(CTM.getInstance().createSubmapIndices(world, pos, face));
+        }
+    }
+
+    @Benchmark
+    public CTMBlockRenderContext ctmContext() {
+        return new CTMBlockRenderContext(world, positions[next()]);
+    }
+
+    @Benchmark
+    public CTMBlockRenderContext ctmContextFromData() {
+        return new CTMBlockRenderContext(ctmData[next()]);
+    }
+
+    @Benchmark
+    public CTMVBlockRenderContext ctmvContext() {
+        return new CTMVBlockRenderContext(world, positions[next()]);
+    }
+
+    @Benchmark
+    public long connectionData() {
+        return ConnectionLocations.getData(world, positions[next()], ConnectionLocations.VALUES);
+    }
+}
@@ -0,0 +1,193 @@
+package team.chisel.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.BlockRenderLayer;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.GameRegistry;
+import team.chisel.api.render.IBlockRenderType;
+import team.chisel.api.render.IChiselFace;
+import team.chisel.api.render.IChiselTexture;
+import team.chisel.api.render.TextureInfo;
+import team.chisel.api.render.TextureSpriteCallback;
+import team.chisel.client.BlockFaceData;
+import team.chisel.client.BlockFaceData.VariationFaceData;
+import team.chisel.client.ChiselFace;
+import team.chisel.client.render.ModelChisel;
+import team.chisel.client.render.ModelChiselBlock;
+import team.chisel.client.render.Quad;
+import team.chisel.client.render.type.BlockRenderTypeAlterR;
+import team.chisel.client.render.type.BlockRenderTypeCTM;
+import team.chisel.client.render.type.BlockRenderTypeCTMH;
+import team.chisel.client.render.type.BlockRenderTypeCTMV;
+import team.chisel.client.render.type.BlockRenderTypeMap;
+import team.chisel.client.render.type.BlockRenderTypeNormal;
+import team.chisel.client.render.type.BlockRenderTypeSimpleCTM;
+import team.chisel.common.init.TextureTypeRegistry;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Shared setup for the benchmarks. Everything here works without a running client: sprites are placed on an imaginary atlas, and quads are built by hand the same way vanilla bakes a full cube.
+ */
+@ParametersAreNonnullByDefault
+public final class Fixtures {
+
+    private static final int ATLAS_SIZE = 256;
+
+    /** Corner positions of each face, in the order vanilla bakes them */
+    private static final float[][][] CORNERS = {
+            { { 0, 0, 1 }, { 0, 0, 0 }, { 1, 0, 0 }, { 1, 0, 1 } }, // DOWN
+            { { 0, 1, 0 }, { 0, 1, 1 }, { 1, 1, 1 }, { 1, 1, 0 } }, // UP
+            { { 1, 1, 0 }, { 1, 0, 0 }, { 0, 0, 0 }, { 0, 1, 0 } }, // NORTH
+            { { 0, 1, 1 }, { 0, 0, 1 }, { 1, 0, 1 }, { 1, 1, 1 } }, // SOUTH
+            { { 0, 1, 0 }, { 0, 0, 0 }, { 0, 0, 1 }, { 0, 1, 1 } }, // WEST
+            { { 1, 1, 1 }, { 1, 0, 1 }, { 1, 0, 0 }, { 1, 1, 0 } }, // EAST
+    };
+
+    /** The sprite model quads are baked with, standing in for the missing texture */
+    public static final TextureAtlasSprite BASE = sprite("missingno", 0, 0);
+
+    private static int nextSprite = 1;
+    private static int nextBlock;
+    private static boolean bootstrapped;
+
+    private Fixtures() {}
+
+    /**
+     * Registers the vanilla blocks and the built in render types, and points {@link Quad} at the stub base sprite, instead of looking it up from the client.
+     */
+    public static synchronized void bootstrap() throws ReflectiveOperationException {
+        if (bootstrapped) {
+            return;
+        }
+        Bootstrap.register();
+        TextureTypeRegistry.register("CTM", new BlockRenderTypeCTM());
+        TextureTypeRegistry.register("CTMH", new BlockRenderTypeCTMH());
+        TextureTypeRegistry.register("CTMV", new BlockRenderTypeCTMV());
+        TextureTypeRegistry.register("SCTM", new BlockRenderTypeSimpleCTM());
+        TextureTypeRegistry.register("R", BlockRenderTypeMap.R);
+        TextureTypeRegistry.register("V", BlockRenderTypeMap.V);
+        TextureTypeRegistry.register("AR", new BlockRenderTypeAlterR());
+        TextureTypeRegistry.register("NORMAL", new BlockRenderTypeNormal());
+        Field base = Quad.class.getDeclaredField("base");
+        base.setAccessible(true);
+        base.set(null, BASE);
+        bootstrapped = true;
+    }
+
+    /**
+     * @return A 16x16 sprite at the given slot of a 256x256 atlas.
+     */
+    public static TextureAtlasSprite sprite(String name, int x, int y) {
+        TextureAtlasSprite sprite = new TextureAtlasSprite(name) {};
+        sprite.setIconWidth(16);
+        sprite.setIconHeight(16);
+        sprite.initSprite(ATLAS_SIZE, ATLAS_SIZE, x * 16, y * 16, false);
+        return sprite;
+    }
+
+    /**
+     * @return A callback that was already "stitched" onto the given sprite.
+     */
+    public static TextureSpriteCallback callback(TextureAtlasSprite sprite) {
+        return new TextureSpriteCallback(new ResourceLocation("chisel", sprite.getIconName())) {
+
+            @Override
+            public TextureAtlasSprite getSprite() {
+                return sprite;
+            }
+        };
+    }
+
+    /**
+     * @return A texture of the given type, using a fresh set of stub sprites.
+     */
+    public static IChiselTexture<?> texture(IBlockRenderType type) {
+        TextureSpriteCallback[] sprites = new TextureSpriteCallback[type.requiredTextures()];
+        for (int i = 0; i < sprites.length; i++) {
+            int slot = nextSprite++;
+            sprites[i] = callback(sprite("sprite" + slot, slot % 16, slot / 16));
+        }
+        return type.makeTexture(new TextureInfo(sprites, Optional.empty(), BlockRenderLayer.SOLID, false));
+    }
+
+    /**
+     * @return A solid face with a single texture of the given type.
+     */
+    public static ChiselFace face(IBlockRenderType type) {
+        ChiselFace face = new ChiselFace(new ResourceLocation("chisel", "benchmark"), BlockRenderLayer.SOLID);
+        face.addTexture(texture(type));
+        return face;
+    }
+
+    /**
+     * @return A block whose every variation renders with the given face on all sides. Each block is registered under its own name, so that the state IDs the model cache is keyed by are distinct.
+     */
+    public static synchronized StubCarvableBlock block(IChiselFace face) {
+        StubCarvableBlock block = new StubCarvableBlock();
+        GameRegistry.register(block, new ResourceLocation("chisel", "benchmark_stub_" + nextBlock++));
+        VariationFaceData[] variations = new VariationFaceData[16];
+        Arrays.fill(variations, new VariationFaceData(face, new HashMap<>()));
+        block.setBlockFaceData(new BlockFaceData(variations));
+        return block;
+    }
+
+    /**
+     * @return The model chisel bakes for a full cube with the given face, set up without going through the model loader.
+     */
+    public static ModelChiselBlock model(IChiselFace face) throws ReflectiveOperationException {
+        ModelChisel model = new ModelChisel();
+        set(model, "faceObj", face);
+        set(model, "modelObj", new CubeModel());
+        return new ModelChiselBlock(model);
+    }
+
+    private static void set(ModelChisel model, String name, Object value) throws ReflectiveOperationException {
+        Field field = ModelChisel.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(model, value);
+    }
+
+    /**
+     * @return The full face of a unit cube on the given side, in {@link DefaultVertexFormats#BLOCK}.
+     */
+    public static BakedQuad quad(EnumFacing face, TextureAtlasSprite sprite) {
+        int stride = DefaultVertexFormats.BLOCK.getIntegerSize();
+        int[] data = new int[stride * 4];
+        float[][] corners = CORNERS[face.ordinal()];
+        for (int v = 0; v < 4; v++) {
+            int i = v * stride;
+            data[i] = Float.floatToRawIntBits(corners[v][0]);
+            data[i + 1] = Float.floatToRawIntBits(corners[v][1]);
+            data[i + 2] = Float.floatToRawIntBits(corners[v][2]);
+            data[i + 3] = 0xFFFFFFFF;
+            data[i + 4] = Float.floatToRawIntBits(v < 2 ? sprite.getMinU() : sprite.getMaxU());
+            data[i + 5] = Float.floatToRawIntBits(v == 0 || v == 3 ? sprite.getMinV() : sprite.getMaxV());
+            data[i + 6] = 0;
+        }
+        return new BakedQuad(data, -1, face, sprite, true, DefaultVertexFormats.BLOCK);
+    }
+
+    /**
+     * @return All six faces of a unit cube.
+     */
+    public static List<BakedQuad> cube(TextureAtlasSprite sprite) {
+        ImmutableList.Builder<BakedQuad> ret = ImmutableList.builder();
+        for (EnumFacing face : EnumFacing.VALUES) {
+            ret.add(quad(face, sprite));
+        }
+        return ret.build();
+    }
+}
@@ -0,0 +1,98 @@
+package team.chisel.benchmark;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.util.BlockRenderLayer;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.client.ForgeHooksClient;
+import net.minecraftforge.common.property.IExtendedBlockState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import team.chisel.api.render.IBlockRenderType;
+import team.chisel.api.render.RenderContextList;
+import team.chisel.client.render.ModelCache;
+import team.chisel.client.render.ModelChiselBlock;
+import team.chisel.common.block.BlockCarvable;
+import team.chisel.common.config.Configurations;
+import team.chisel.common.config.ModelCachePolicy;
+import team.chisel.common.init.TextureTypeRegistry;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * {@link ModelChiselBlock#getQuads(IBlockState, EnumFacing, long)} for a full cube, once with every lookup hitting the {@link ModelCache}, and once with a cache too small to ever hit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelBenchmark {
+
+    private static final int SIZE = 16;
+
+    @Param({ "CTM", "CTMV", "V" })
+    public String type;
+
+    private ModelChiselBlock model;
+    private IExtendedBlockState[] states;
+    private int next;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Fixtures.bootstrap();
+        IBlockRenderType renderType = TextureTypeRegistry.getType(type);
+        model = Fixtures.model(Fixtures.face(renderType));
+
+        IExtendedBlockState base = new StubCarvableBlock().getExtendedDefaultState();
+        SyntheticWorld world = new SyntheticWorld(SIZE).fill(SIZE, 0.7, base.getClean());
+
+        // Only distinct contexts, so that every lookup of the miss benchmark really misses
+        Set<RenderContextList> contexts = new LinkedHashSet<>();
+        List<IBlockRenderType> types = ImmutableList.of(renderType);
+        for (int x = 2; x < SIZE - 2; x++) {
+            for (int z = 2; z < SIZE - 2; z++) {
+                BlockPos pos = new BlockPos(x, SIZE / 2, z);
+                world.set(pos, base.getClean());
+                contexts.add(new RenderContextList(types, world, pos));
+            }
+        }
+        states = contexts.stream().map(ctx -> (IExtendedBlockState) base.withProperty(BlockCarvable.CTX_LIST, ctx)).toArray(IExtendedBlockState[]::new);
+
+        Configurations.modelCachePolicy = ModelCachePolicy.SLRU;
+        ModelChiselBlock.getModelcache().clear();
+        ForgeHooksClient.setRenderLayer(BlockRenderLayer.SOLID);
+    }
+
+    @Benchmark
+    public List<BakedQuad> getQuadsHit() {
+        Configurations.modelCacheSize = 2000;
+        int i = next++ & Integer.MAX_VALUE;
+        return model.getQuads(states[0], EnumFacing.VALUES[i % 6], 0);
+    }
+
+    @Benchmark
+    public List<BakedQuad> getQuadsMiss() {
+        Configurations.modelCacheSize = 1;
+        int i = next++ & Integer.MAX_VALUE;
+        return model.getQuads(states[i % states.length], EnumFacing.VALUES[i % 6], 0);
+    }
+}
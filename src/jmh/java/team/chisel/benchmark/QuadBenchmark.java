@@ -0,0 +1,88 @@
+package team.chisel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.util.EnumFacing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import team.chisel.client.render.PackedQuad;
+import team.chisel.client.render.Quad;
+
+/**
+ * The quad operations textures are built from, for both the vector based {@link Quad} and the {@link PackedQuad} working on raw vertex data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QuadBenchmark {
+
+    private BakedQuad quad;
+    private TextureAtlasSprite sprite;
+
+    private Quad unpacked;
+    private PackedQuad packed;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Fixtures.bootstrap();
+        quad = Fixtures.quad(EnumFacing.NORTH, Fixtures.BASE);
+        sprite = Fixtures.sprite("target", 3, 5);
+        unpacked = Quad.from(quad).transformUVs(sprite, Quad.TOP_LEFT);
+        packed = PackedQuad.from(quad).transformUVs(sprite, Quad.TOP_LEFT);
+    }
+
+    @Benchmark
+    public Quad quadFrom() {
+        return Quad.from(quad);
+    }
+
+    @Benchmark
+    public PackedQuad packedFrom() {
+        return PackedQuad.from(quad);
+    }
+
+    @Benchmark
+    public Quad[] quadSubdivide() {
+        return Quad.from(quad).subdivide(4);
+    }
+
+    @Benchmark
+    public PackedQuad[] packedSubdivide() {
+        return PackedQuad.from(quad).subdivide(4);
+    }
+
+    @Benchmark
+    public Quad quadTransformUVs() {
+        return Quad.from(quad).transformUVs(sprite, Quad.TOP_LEFT);
+    }
+
+    @Benchmark
+    public PackedQuad packedTransformUVs() {
+        return PackedQuad.from(quad).transformUVs(sprite, Quad.TOP_LEFT);
+    }
+
+    @Benchmark
+    public BakedQuad quadRebake() {
+        return unpacked.rebake();
+    }
+
+    @Benchmark
+    public BakedQuad packedRebake() {
+        return packed.rebake();
+    }
+}
@@ -0,0 +1,236 @@
+package team.chisel.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockRenderLayer;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.client.ForgeHooksClient;
+import team.chisel.api.render.IBlockRenderType;
+import team.chisel.client.render.ModelCache;
+import team.chisel.client.render.ModelChiselBlock;
+import team.chisel.common.config.Configurations;
+import team.chisel.common.config.ModelCachePolicy;
+import team.chisel.common.init.TextureTypeRegistry;
+
+/**
+ * Replays what the chunk renderer does with chisel blocks when it rebuilds 16x16x16 sections: for every block, {@link Block#getExtendedState(IBlockState, net.minecraft.world.IBlockAccess, BlockPos)}
+ * followed by {@link ModelChiselBlock#getQuads(IBlockState, EnumFacing, long)} for every layer the block renders in, and every side that is not culled.
+ * <p>
+ * Sections are filled randomly with blocks of each render type at the density given by the scenario. Every scenario is run for a number of rounds over the same sections, with a fresh model cache,
+ * and one CSV line is written per round with the time per section, the bytes allocated per block and the hit ratio of the model cache.
+ * <p>
+ * Arguments are {@code key=value} pairs:
+ * <ul>
+ * <li>{@code out} - The CSV file to write, defaults to standard output.</li>
+ * <li>{@code mix} - A custom scenario as comma separated {@code TYPE:density} pairs, e.g. {@code CTM:0.5,V:0.2}. Without it, a set of preset scenarios is run.</li>
+ * <li>{@code sections} - The amount of distinct sections per scenario, default 16.</li>
+ * <li>{@code rounds} - The amount of measured rounds, default 10.</li>
+ * <li>{@code warmup} - The amount of rounds run before measuring, default 5. The cache is cleared after warmup.</li>
+ * <li>{@code cacheSize} - The model cache size, default 2000.</li>
+ * </ul>
+ */
+public class SectionRebuildSimulation {
+
+    private static final String[] TYPES = { "CTM", "CTMV", "CTMH", "V", "R", "NORMAL" };
+    private static final BlockRenderLayer[] LAYERS = BlockRenderLayer.values();
+    private static final int SECTION = 16;
+
+    private static final Map<String, String> PRESETS = new LinkedHashMap<>();
+    static {
+        PRESETS.put("megabase", "CTM:0.3,CTMV:0.1,CTMH:0.1,V:0.1,R:0.1,NORMAL:0.1");
+        PRESETS.put("ctm_walls", "CTM:0.8");
+        PRESETS.put("pillars", "CTMV:0.6,CTMH:0.2");
+        PRESETS.put("patterned", "V:0.4,R:0.4");
+        PRESETS.put("normal", "NORMAL:0.8");
+    }
+
+    private final Map<String, StubCarvableBlock> blocks = new LinkedHashMap<>();
+    private final Map<Block, ModelChiselBlock> models = new LinkedHashMap<>();
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Keeps the results alive, so that none of the work can be optimized away */
+    private long sink;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int idx = arg.indexOf('=');
+            if (idx < 0) {
+                throw new IllegalArgumentException("Arguments must be key=value pairs: " + arg);
+            }
+            options.put(arg.substring(0, idx), arg.substring(idx + 1));
+        }
+
+        Map<String, String> scenarios = options.containsKey("mix") ? map("custom", options.get("mix")) : PRESETS;
+        int sections = Integer.parseInt(options.getOrDefault("sections", "16"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+
+        Fixtures.bootstrap();
+        Configurations.modelCacheSize = Integer.parseInt(options.getOrDefault("cacheSize", "2000"));
+        Configurations.modelCachePolicy = ModelCachePolicy.SLRU;
+
+        SectionRebuildSimulation sim = new SectionRebuildSimulation();
+        try (PrintWriter out = options.containsKey("out") ? writer(new File(options.get("out"))) : new PrintWriter(System.out)) {
+            out.println("scenario,round,sections,blocks,ms_per_section,bytes_per_block,model_cache_hit_ratio");
+            for (Map.Entry<String, String> e : scenarios.entrySet()) {
+                sim.run(e.getKey(), parseMix(e.getValue()), sections, rounds, warmup, out);
+                out.flush();
+            }
+        }
+    }
+
+    private static Map<String, String> map(String key, String value) {
+        Map<String, String> ret = new LinkedHashMap<>();
+        ret.put(key, value);
+        return ret;
+    }
+
+    private static PrintWriter writer(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        return new PrintWriter(file, "UTF-8");
+    }
+
+    private static Map<String, Double> parseMix(String mix) {
+        Map<String, Double> ret = new LinkedHashMap<>();
+        double total = 0;
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":");
+            String type = kv[0].trim().toUpperCase(Locale.US);
+            if (!TextureTypeRegistry.isValid(type)) {
+                throw new IllegalArgumentException("Unknown render type " + type);
+            }
+            double density = Double.parseDouble(kv[1]);
+            ret.put(type, density);
+            total += density;
+        }
+        if (total > 1) {
+            throw new IllegalArgumentException("Densities add up to more than 1: " + mix);
+        }
+        return ret;
+    }
+
+    private SectionRebuildSimulation() throws ReflectiveOperationException {
+        for (String name : TYPES) {
+            IBlockRenderType type = TextureTypeRegistry.getType(name);
+            StubCarvableBlock block = Fixtures.block(Fixtures.face(type));
+            blocks.put(name, block);
+            models.put(block, Fixtures.model(block.getBlockFaceData().getForMeta(0).defaultFace));
+        }
+    }
+
+    private void run(String scenario, Map<String, Double> mix, int sections, int rounds, int warmup, PrintWriter out) {
+        List<SyntheticWorld> worlds = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            worlds.add(generate(i, mix));
+        }
+
+        for (int i = 0; i < warmup; i++) {
+            rebuild(worlds);
+        }
+        ModelChiselBlock.getModelcache().clear();
+
+        for (int round = 0; round < rounds; round++) {
+            ModelCache.Stats before = ModelChiselBlock.getModelcache().getTotalStats();
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+
+            int blockCount = rebuild(worlds);
+
+            long nanos = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            ModelCache.Stats after = ModelChiselBlock.getModelcache().getTotalStats();
+
+            long hits = after.getHits() - before.getHits();
+            long lookups = hits + after.getMisses() - before.getMisses();
+            out.println(String.format(Locale.US, "%s,%d,%d,%d,%.4f,%.1f,%.4f", scenario, round, sections, blockCount,
+                    nanos / 1e6 / sections, blockCount == 0 ? 0 : (double) bytes / blockCount, lookups == 0 ? 0 : (double) hits / lookups));
+        }
+    }
+
+    /**
+     * Creates a world holding one section with a border of one block, so that blocks at the edge of the section can connect outwards.
+     */
+    private SyntheticWorld generate(long seed, Map<String, Double> mix) {
+        SyntheticWorld world = new SyntheticWorld(SECTION + 2);
+        Random rand = new Random(seed);
+        for (int x = 0; x < world.getSize(); x++) {
+            for (int y = 0; y < world.getSize(); y++) {
+                for (int z = 0; z < world.getSize(); z++) {
+                    world.set(new BlockPos(x, y, z), pick(rand, mix));
+                }
+            }
+        }
+        return world;
+    }
+
+    private IBlockState pick(Random rand, Map<String, Double> mix) {
+        double roll = rand.nextDouble();
+        for (Map.Entry<String, Double> e : mix.entrySet()) {
+            roll -= e.getValue();
+            if (roll < 0) {
+                return blocks.get(e.getKey()).getStateFromMeta(rand.nextInt(4));
+            }
+        }
+        return Blocks.AIR.getDefaultState();
+    }
+
+    /**
+     * Rebuilds every section once.
+     *
+     * @return The amount of chisel blocks rendered.
+     */
+    private int rebuild(List<SyntheticWorld> worlds) {
+        int count = 0;
+        for (SyntheticWorld world : worlds) {
+            for (BlockPos pos : BlockPos.getAllInBoxMutable(new BlockPos(1, 1, 1), new BlockPos(SECTION, SECTION, SECTION))) {
+                IBlockState state = world.getBlockState(pos);
+                ModelChiselBlock model = models.get(state.getBlock());
+                if (model == null) {
+                    continue;
+                }
+                count++;
+                for (BlockRenderLayer layer : LAYERS) {
+                    if (!state.getBlock().canRenderInLayer(state, layer)) {
+                        continue;
+                    }
+                    ForgeHooksClient.setRenderLayer(layer);
+                    IBlockState extended = state.getBlock().getExtendedState(state, world, pos);
+                    for (EnumFacing side : EnumFacing.VALUES) {
+                        if (state.shouldSideBeRendered(world, pos, side)) {
+                            consume(model.getQuads(extended, side, 0));
+                        }
+                    }
+                    consume(model.getQuads(extended, null, 0));
+                }
+            }
+        }
+        ForgeHooksClient.setRenderLayer(null);
+        return count;
+    }
+
+    private void consume(List<BakedQuad> quads) {
+        sink += quads.size();
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,94 @@
+package team.chisel.benchmark;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.properties.IProperty;
+import net.minecraft.block.properties.PropertyInteger;
+import net.minecraft.block.state.BlockStateContainer;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraftforge.common.property.ExtendedBlockState;
+import net.minecraftforge.common.property.IExtendedBlockState;
+import net.minecraftforge.common.property.IUnlistedProperty;
+import team.chisel.api.block.ICarvable;
+import team.chisel.api.block.VariationData;
+import team.chisel.client.BlockFaceData;
+import team.chisel.common.block.BlockCarvable;
+
+/**
+ * A carvable block with the same block state layout as {@link BlockCarvable}, which can be created without the mod being loaded.
+ */
+@ParametersAreNonnullByDefault
+public class StubCarvableBlock extends Block implements ICarvable {
+
+    private static final PropertyInteger VARIATION = PropertyInteger.create("variation", 0, 15);
+
+    private @Nullable BlockFaceData blockFaceData;
+
+    public StubCarvableBlock() {
+        super(Material.ROCK);
+    }
+
+    @Override
+    protected BlockStateContainer createBlockState() {
+        return new ExtendedBlockState(this, new IProperty[] { VARIATION }, new IUnlistedProperty[] { BlockCarvable.CTX_LIST });
+    }
+
+    @Override
+    public IBlockState getStateFromMeta(int meta) {
+        return getDefaultState().withProperty(VARIATION, meta);
+    }
+
+    @Override
+    public int getMetaFromState(IBlockState state) {
+        return state.getValue(VARIATION);
+    }
+
+    public IExtendedBlockState getExtendedDefaultState() {
+        return (IExtendedBlockState) getDefaultState();
+    }
+
+    @Override
+    public IBlockState getExtendedState(IBlockState state, IBlockAccess world, BlockPos pos) {
+        return BlockCarvable.withRenderContexts(this, state, world, pos);
+    }
+
+    @Override
+    public int getIndex() {
+        return 0;
+    }
+
+    @Override
+    public int getTotalVariations() {
+        return 16;
+    }
+
+    @Override
+    public VariationData getVariationData(int variation) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public VariationData[] getVariations() {
+        return new VariationData[0];
+    }
+
+    @Override
+    public int getVariationIndex(IBlockState state) {
+        return getMetaFromState(state);
+    }
+
+    @Override
+    public void setBlockFaceData(BlockFaceData blockFaceData) {
+        this.blockFaceData = blockFaceData;
+    }
+
+    @Override
+    public @Nullable BlockFaceData getBlockFaceData() {
+        return blockFaceData;
+    }
+}
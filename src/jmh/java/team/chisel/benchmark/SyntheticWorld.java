@@ -0,0 +1,107 @@
+package team.chisel.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * An in-memory {@link IBlockAccess} over a cube of blocks starting at the origin. Everything outside of the cube is air.
+ */
+@ParametersAreNonnullByDefault
+public class SyntheticWorld implements IBlockAccess {
+
+    private final int size;
+    private final IBlockState[] states;
+
+    public SyntheticWorld(int size) {
+        this.size = size;
+        this.states = new IBlockState[size * size * size];
+        Arrays.fill(states, Blocks.AIR.getDefaultState());
+    }
+
+    /**
+     * Fills every position with one of the given states, picking air instead with a chance of {@code 1 - density}. The same seed always gives the same world.
+     */
+    public SyntheticWorld fill(long seed, double density, IBlockState... palette) {
+        Random rand = new Random(seed);
+        for (int i = 0; i < states.length; i++) {
+            states[i] = rand.nextDouble() < density ? palette[rand.nextInt(palette.length)] : Blocks.AIR.getDefaultState();
+        }
+        return this;
+    }
+
+    public SyntheticWorld set(BlockPos pos, IBlockState state) {
+        states[index(pos)] = state;
+        return this;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private boolean contains(BlockPos pos) {
+        return pos.getX() >= 0 && pos.getY() >= 0 && pos.getZ() >= 0 && pos.getX() < size && pos.getY() < size && pos.getZ() < size;
+    }
+
+    private int index(BlockPos pos) {
+        return (pos.getY() * size + pos.getZ()) * size + pos.getX();
+    }
+
+    @Override
+    public IBlockState getBlockState(BlockPos pos) {
+        return contains(pos) ? states[index(pos)] : Blocks.AIR.getDefaultState();
+    }
+
+    @Override
+    public @Nullable TileEntity getTileEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getCombinedLight(BlockPos pos, int lightValue) {
+        return 15 << 20 | 15 << 4;
+    }
+
+    @Override
+    public boolean isAirBlock(BlockPos pos) {
+        IBlockState state = getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos) {
+        return Biomes.PLAINS;
+    }
+
+    // @Override 1.9 only. Not actually ever called, just here for compilation.
+    public boolean extendedLevelsInChunkCache() {
+        return false;
+    }
+
+    @Override
+    public int getStrongPower(BlockPos pos, EnumFacing direction) {
+        return 0;
+    }
+
+    @Override
+    public WorldType getWorldType() {
+        return WorldType.DEFAULT;
+    }
+
+    @Override
+    public boolean isSideSolid(BlockPos pos, EnumFacing side, boolean _default) {
+        return getBlockState(pos).isSideSolid(this, pos, side);
+    }
+}
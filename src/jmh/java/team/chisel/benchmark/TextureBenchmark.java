@@ -0,0 +1,80 @@
+package team.chisel.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import team.chisel.api.render.IBlockRenderContext;
+import team.chisel.api.render.IBlockRenderType;
+import team.chisel.api.render.IChiselTexture;
+import team.chisel.common.init.TextureTypeRegistry;
+
+/**
+ * {@link IChiselTexture#transformQuad(BakedQuad, IBlockRenderContext, int)} of every built in render type, with contexts taken from a randomly filled world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TextureBenchmark {
+
+    private static final int SIZE = 12;
+    private static final int CONTEXTS = 256;
+
+    @Param({ "CTM", "CTMH", "CTMV", "SCTM", "R", "V", "AR", "NORMAL" })
+    public String type;
+
+    @Param({ "1", "4" })
+    public int quadGoal;
+
+    private IChiselTexture<?> texture;
+    private List<BakedQuad> quads;
+    private IBlockRenderContext[] contexts;
+    private int next;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Fixtures.bootstrap();
+        IBlockRenderType renderType = TextureTypeRegistry.getType(type);
+        texture = Fixtures.texture(renderType);
+        quads = Fixtures.cube(Fixtures.BASE);
+
+        IBlockState state = Blocks.STONE.getDefaultState();
+        SyntheticWorld world = new SyntheticWorld(SIZE).fill(0, 0.7, state);
+        contexts = new IBlockRenderContext[CONTEXTS];
+        for (int i = 0; i < contexts.length; i++) {
+            BlockPos pos = new BlockPos(2 + i % 8, 2 + (i / 8) % 8, 2 + i / 64);
+            world.set(pos, state);
+            contexts[i] = renderType.getBlockRenderContext(world, pos);
+        }
+    }
+
+    @Benchmark
+    public List<BakedQuad> transformQuad() {
+        int i = next++ & Integer.MAX_VALUE;
+        return texture.transformQuad(quads.get(i % quads.size()), contexts[i & (CONTEXTS - 1)], quadGoal);
+    }
+
+    @Benchmark
+    public List<BakedQuad> transformQuadInventory() {
+        return texture.transformQuad(quads.get((next++ & Integer.MAX_VALUE) % quads.size()), null, quadGoal);
+    }
+}
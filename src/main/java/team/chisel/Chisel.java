@@ -15,6 +15,7 @@ import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLMissingMappingsEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
@@ -27,15 +28,20 @@ import net.minecraftforge.oredict.ShapedOreRecipe;
 import net.minecraftforge.oredict.ShapelessOreRecipe;
 import team.chisel.api.carving.CarvingUtils;
 import team.chisel.client.gui.ChiselGuiHandler;
+import team.chisel.client.gui.PacketCarvingIds;
 import team.chisel.client.gui.PacketChiselButton;
-import team.chisel.client.gui.PacketChiselNBT;
+import team.chisel.client.gui.PacketChiselResult;
+import team.chisel.client.gui.PacketHitechState;
 import team.chisel.common.CommonProxy;
 import team.chisel.common.Reference;
 import team.chisel.common.carving.Carving;
+import team.chisel.common.carving.CarvingIds;
 import team.chisel.common.config.Configurations;
 import team.chisel.common.item.ItemChisel;
 import team.chisel.common.item.ItemChisel.ChiselType;
 import team.chisel.common.util.GenerationHandler;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 @Mod(modid = Reference.MOD_ID, version = Reference.VERSION, name = Reference.MOD_NAME, acceptedMinecraftVersions = "[1.9.4, 1.11)")
 public class Chisel implements Reference {
@@ -56,7 +62,9 @@ public class Chisel implements Reference {
     public static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(MOD_ID);
     static {
         network.registerMessage(PacketChiselButton.Handler.class, PacketChiselButton.class, 0, Side.SERVER);
-        network.registerMessage(PacketChiselNBT.Handler.class, PacketChiselNBT.class, 1, Side.SERVER);
+        network.registerMessage(PacketHitechState.Handler.class, PacketHitechState.class, 1, Side.SERVER);
+        network.registerMessage(PacketCarvingIds.Handler.class, PacketCarvingIds.class, 2, Side.CLIENT);
+        network.registerMessage(PacketChiselResult.Handler.class, PacketChiselResult.class, 3, Side.CLIENT);
     }
 
     public Chisel() {
@@ -65,43 +73,60 @@ public class Chisel implements Reference {
 
     @Mod.EventHandler
     public void preInit(FMLPreInitializationEvent event) {
-        proxy.construct(event);
-
         File configFile = event.getSuggestedConfigurationFile();
         Configurations.configExists = configFile.exists();
         Configurations.config = new Configuration(configFile);
         Configurations.config.load();
         Configurations.refreshConfig();
 
-        itemChiselIron = new ItemChisel(ChiselType.IRON);
-        itemChiselDiamond = new ItemChisel(ChiselType.DIAMOND);
-        itemChiselHitech = new ItemChisel(ChiselType.HITECH);
-        
-        GameRegistry.register(itemChiselIron);
-        GameRegistry.register(itemChiselDiamond);
-        GameRegistry.register(itemChiselHitech);
-
-        GameRegistry.addRecipe(new ShapedOreRecipe(itemChiselIron, " x", "s ", 'x', "ingotIron", 's', "stickWood"));
-        GameRegistry.addRecipe(new ShapedOreRecipe(itemChiselDiamond, " x", "s ", 'x', "gemDiamond", 's', "stickWood"));
-        GameRegistry.addRecipe(new ShapelessOreRecipe(itemChiselHitech, itemChiselDiamond, "dustRedstone", "ingotGold"));
-        
-        GameRegistry.registerWorldGenerator(GenerationHandler.INSTANCE, 2);
-        MinecraftForge.EVENT_BUS.register(GenerationHandler.INSTANCE);
-        MinecraftForge.TERRAIN_GEN_BUS.register(GenerationHandler.INSTANCE);
-
-        NetworkRegistry.INSTANCE.registerGuiHandler(this, new ChiselGuiHandler());
-
-        Features.preInit();
-        
-        proxy.preInit(event);
+        if (Configurations.profileStartup) {
+            StartupProfiler.enable(new File(event.getModConfigurationDirectory().getParentFile(), "logs/chisel-startup.json"));
+        }
+
+        try (Phase phase = StartupProfiler.start("preInit")) {
+            proxy.construct(event);
+
+            itemChiselIron = new ItemChisel(ChiselType.IRON);
+            itemChiselDiamond = new ItemChisel(ChiselType.DIAMOND);
+            itemChiselHitech = new ItemChisel(ChiselType.HITECH);
+
+            GameRegistry.register(itemChiselIron);
+            GameRegistry.register(itemChiselDiamond);
+            GameRegistry.register(itemChiselHitech);
+
+            GameRegistry.addRecipe(new ShapedOreRecipe(itemChiselIron, " x", "s ", 'x', "ingotIron", 's', "stickWood"));
+            GameRegistry.addRecipe(new ShapedOreRecipe(itemChiselDiamond, " x", "s ", 'x', "gemDiamond", 's', "stickWood"));
+            GameRegistry.addRecipe(new ShapelessOreRecipe(itemChiselHitech, itemChiselDiamond, "dustRedstone", "ingotGold"));
+
+            GameRegistry.registerWorldGenerator(GenerationHandler.INSTANCE, 2);
+            MinecraftForge.EVENT_BUS.register(GenerationHandler.INSTANCE);
+            MinecraftForge.TERRAIN_GEN_BUS.register(GenerationHandler.INSTANCE);
+
+            NetworkRegistry.INSTANCE.registerGuiHandler(this, new ChiselGuiHandler());
+            MinecraftForge.EVENT_BUS.register(Carving.chisel);
+            MinecraftForge.EVENT_BUS.register(Carving.needle);
+            MinecraftForge.EVENT_BUS.register(CarvingIds.LoginHandler.INSTANCE);
+
+            Features.preInit();
+
+            proxy.preInit(event);
+        }
     }
 
     @Mod.EventHandler
     public void init(FMLInitializationEvent event) {
-        Features.init();
-        
-        proxy.init();
-        // BlockRegistry.init(event);
+        try (Phase phase = StartupProfiler.start("init")) {
+            Features.init();
+
+            proxy.init();
+            // BlockRegistry.init(event);
+        }
+    }
+
+    @Mod.EventHandler
+    public void loadComplete(FMLLoadCompleteEvent event) {
+        Carving.freeze();
+        StartupProfiler.report();
     }
 
     /**
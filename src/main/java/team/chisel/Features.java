@@ -1,5 +1,8 @@
 package team.chisel;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -43,6 +46,8 @@ import team.chisel.common.config.Configurations;
 import team.chisel.common.init.ChiselBlocks;
 import team.chisel.common.util.GenerationHandler;
 import team.chisel.common.util.GenerationHandler.WorldGenInfo;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 public enum Features {
 
@@ -2451,12 +2456,16 @@ public enum Features {
         Chisel.logger.info("Loading blocks...");
         int num = 0;
         ChiselBlockFactory factory = ChiselBlockFactory.newFactory(Chisel.MOD_ID);
-        for (Features f : values()) {
-            if (f.enabled()) {
-                f.addBlocks(factory);
-                ++num;
-            } else {
-                logDisabled(f);
+        try (Phase phase = StartupProfiler.start("addBlocks")) {
+            for (Features f : values()) {
+                if (f.enabled()) {
+                    try (Phase feature = StartupProfiler.start(Configurations.featureName(f))) {
+                        f.addBlocks(factory);
+                    }
+                    ++num;
+                } else {
+                    logDisabled(f);
+                }
             }
         }
         Chisel.logger.info(num + " Feature's blocks loaded.");
@@ -2523,11 +2532,37 @@ public enum Features {
 
     static void preInit() {
         Chisel.logger.info("Starting pre-init...");
+        resolveFeatures();
         loadBlocks();
         loadItems();
         Chisel.logger.info("Pre-init finished.");
     }
 
+    /**
+     * The enabled features, resolved once from the config, the loaded mods and the parent features.
+     */
+    private static Set<Features> enabledFeatures;
+
+    private static Set<Features> resolveFeatures() {
+        Set<Features> resolved = EnumSet.noneOf(Features.class);
+        Set<Features> enabled = EnumSet.noneOf(Features.class);
+        for (Features f : values()) {
+            f.resolve(resolved, enabled);
+        }
+        if (Configurations.config.hasChanged()) {
+            Configurations.config.save();
+        }
+        enabledFeatures = enabled;
+        return enabled;
+    }
+
+    private boolean resolve(Set<Features> resolved, Set<Features> enabled) {
+        if (resolved.add(this) && Configurations.featureEnabled(this) && hasRequiredMod() && (parent == null || parent.resolve(resolved, enabled))) {
+            enabled.add(this);
+        }
+        return enabled.contains(this);
+    }
+
     private Features parent;
 
     private String requiredMod;
@@ -2562,7 +2597,8 @@ public enum Features {
     }
 
     public boolean enabled() {
-        return Configurations.featureEnabled(this) && hasRequiredMod() && hasParentFeature();
+        Set<Features> enabled = enabledFeatures;
+        return (enabled == null ? resolveFeatures() : enabled).contains(this);
     }
 
     private final boolean hasParentFeature() {
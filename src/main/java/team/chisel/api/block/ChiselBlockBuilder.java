@@ -30,6 +30,8 @@ import team.chisel.Chisel;
 import team.chisel.api.carving.CarvingUtils;
 import team.chisel.client.render.ChiselModelRegistry;
 import team.chisel.common.init.BlockRegistry;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 /**
  * Building a ChiselBlockData
@@ -104,37 +106,43 @@ public class ChiselBlockBuilder<T extends Block & ICarvable> {
         if (variations.size() == 0) {
             throw new IllegalArgumentException("Must have at least one variation!");
         }
-        VariationData[] vars = new VariationData[variations.size()];
-        for (int i = 0; i < variations.size(); i++) {
-            vars[i] = variations.get(i).doBuild();
-        }
-        VariationData[][] data = BlockRegistry.splitVariationArray(vars);
-        T[] ret = (T[]) Array.newInstance(provider.getBlockClass(), data.length);
-        for (int i = 0; i < ret.length; i++) {
-            ret[i] = provider.createBlock(material, i, vars.length, data[i]);
-            ret[i].setRegistryName(blockName + (i == 0 ? "" : i));
-            ret[i].setUnlocalizedName(domain + '.' + blockName);
-            ret[i].setHardness(1);
-            if (sound != null) {
-                ret[i].setSoundType(sound);
+        try (Phase phase = StartupProfiler.start("build")) {
+            VariationData[] vars = new VariationData[variations.size()];
+            for (int i = 0; i < variations.size(); i++) {
+                vars[i] = variations.get(i).doBuild();
             }
-            
-            GameRegistry.register(ret[i]);
-            GameRegistry.register(provider.createItemBlock(ret[i]));
-
-            after.accept(ret[i]);
-
-            if (FMLCommonHandler.instance().getEffectiveSide().isClient()) {
-                ChiselModelRegistry.INSTANCE.register(ret[i]);
-            }
-            for (int j = 0; j < data[i].length; j++) {
-                if (data[i][j].group != null) {
-                    VariationBuilder<T> v = variations.get(data[i][j].index);
-                    CarvingUtils.getChiselRegistry().addVariation(data[i][j].group, ret[i].getStateFromMeta(j), v.order);
+            VariationData[][] data = BlockRegistry.splitVariationArray(vars);
+            T[] ret = (T[]) Array.newInstance(provider.getBlockClass(), data.length);
+            for (int i = 0; i < ret.length; i++) {
+                try (Phase register = StartupProfiler.start("register")) {
+                    ret[i] = provider.createBlock(material, i, vars.length, data[i]);
+                    ret[i].setRegistryName(blockName + (i == 0 ? "" : i));
+                    ret[i].setUnlocalizedName(domain + '.' + blockName);
+                    ret[i].setHardness(1);
+                    if (sound != null) {
+                        ret[i].setSoundType(sound);
+                    }
+
+                    GameRegistry.register(ret[i]);
+                    GameRegistry.register(provider.createItemBlock(ret[i]));
+
+                    after.accept(ret[i]);
+
+                    if (FMLCommonHandler.instance().getEffectiveSide().isClient()) {
+                        ChiselModelRegistry.INSTANCE.register(ret[i]);
+                    }
+                }
+                try (Phase carving = StartupProfiler.start("carving")) {
+                    for (int j = 0; j < data[i].length; j++) {
+                        if (data[i][j].group != null) {
+                            VariationBuilder<T> v = variations.get(data[i][j].index);
+                            CarvingUtils.getChiselRegistry().addVariation(data[i][j].group, ret[i].getStateFromMeta(j), v.order);
+                        }
+                    }
                 }
             }
+            return ret;
         }
-        return ret;
     }
 
     @Accessors(chain = true)
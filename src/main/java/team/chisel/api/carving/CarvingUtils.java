@@ -12,6 +12,7 @@ import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.item.ItemStack;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 public class CarvingUtils {
@@ -113,7 +114,8 @@ public class CarvingUtils {
 		private @Nullable String sound;
 		private @Nullable String oreName;
 
-		private List<ICarvingVariation> variations = Lists.newArrayList();
+		// Replaced as a whole on every change, so that it can be read from any thread
+		private volatile List<ICarvingVariation> variations = ImmutableList.of();
 
 		public SimpleCarvingGroup(String name) {
 			this.name = name;
@@ -121,11 +123,12 @@ public class CarvingUtils {
 
 		@Override
 		public List<ICarvingVariation> getVariations() {
-			return Lists.newArrayList(variations);
+			return variations;
 		}
 
 		@Override
-		public void addVariation(ICarvingVariation variation) {
+		public synchronized void addVariation(ICarvingVariation variation) {
+			List<ICarvingVariation> variations = Lists.newArrayList(this.variations);
 			variations.add(variation);
 			Collections.sort(variations, new Comparator<ICarvingVariation>() {
 
@@ -134,17 +137,24 @@ public class CarvingUtils {
 					return CarvingUtils.compare(o1, o2);
 				}
 			});
+			this.variations = ImmutableList.copyOf(variations);
 		}
 
 		@Override
-		public boolean removeVariation(ICarvingVariation variation) {
+		public synchronized boolean removeVariation(ICarvingVariation variation) {
 			ICarvingVariation toRemove = null;
 			for (ICarvingVariation v : variations) {
 				if (v.getBlockState().equals(variation.getBlockState())) {
 					toRemove = v;
 				}
 			}
-			return toRemove == null ? false : variations.remove(toRemove);
+			if (toRemove == null) {
+				return false;
+			}
+			List<ICarvingVariation> variations = Lists.newArrayList(this.variations);
+			variations.remove(toRemove);
+			this.variations = ImmutableList.copyOf(variations);
+			return true;
 		}
 
 		@Override
@@ -8,6 +8,9 @@ public interface IBlockRenderContext {
 
     /**
      * Gets the compressed data, will only use bits up to the given compressed data length
+     * <p>
+     * This must hold everything the context's textures need, so that {@link IRenderContextProvider#getContextFromData(long)} can rebuild an equivalent context without world access. Two contexts that
+     * render differently must never have the same compressed data, as it is used as a model cache key.
      */
     long getCompressedData();
 
@@ -26,6 +26,14 @@ public interface IChiselTexture<T extends IBlockRenderType> {
      */
     List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal);
 
+    /**
+     * Called at model bake time with every quad this texture may later be asked to transform, so that the results can be computed ahead of time.
+     * 
+     * @param quad
+     *            The Quad
+     */
+    default void precomputeQuad(BakedQuad quad) {}
+
     Collection<ResourceLocation> getTextures();
     
     /**
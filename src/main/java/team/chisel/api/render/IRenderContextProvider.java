@@ -17,7 +17,19 @@ public interface IRenderContextProvider {
     IBlockRenderContext getBlockRenderContext(IBlockAccess world, BlockPos pos);
 
     /**
-     * Gets the render context from this compressed data. This int is just the data for this context
+     * Gets the render context from this compressed data. This long is just the data for this context, as returned by {@link IBlockRenderContext#getCompressedData()}.
+     * <p>
+     * The returned context must render identically to the one the data was taken from.
      */
     IBlockRenderContext getContextFromData(long data);
+
+    /**
+     * Whether contexts from this provider depend on the blocks around the position, and may be cached until those blocks change. Contexts that only depend on the position itself are cheaper to
+     * rebuild than to look up, and should not be cached.
+     * <p>
+     * Cached contexts are rebuilt with {@link #getContextFromData(long)}.
+     */
+    default boolean isContextCacheable() {
+        return false;
+    }
 }
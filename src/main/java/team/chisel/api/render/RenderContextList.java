@@ -1,48 +1,120 @@
 package team.chisel.api.render;
 
-import gnu.trove.set.TLongSet;
-import gnu.trove.set.hash.TLongHashSet;
-
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
-
-import com.google.common.collect.Maps;
+import team.chisel.common.init.TextureTypeRegistry;
 
 /**
  * List of IBlockRenderContext's
+ * <p>
+ * Contexts are stored by the {@link TextureTypeRegistry#getSlot(IBlockRenderType) slot} of their render type. The {@link #getSignature() signature} holds the compressed data of every context,
+ * ordered by slot, and together with the slots present it makes up the equality of two lists.
  */
 public class RenderContextList {
 
-    private final Map<IBlockRenderType, IBlockRenderContext> contextMap = Maps.newIdentityHashMap();
-    private final TLongSet serialized = new TLongHashSet();
+    private static final IBlockRenderContext[] NO_CONTEXTS = new IBlockRenderContext[0];
+    private static final int[] NO_SLOTS = new int[0];
+    private static final long[] NO_DATA = new long[0];
+
+    private final IBlockRenderContext[] contexts;
+    private final int[] slots;
+    private final long[] signature;
+    private final int hash;
+
+    /**
+     * Creates render contexts, allows callers to look them up from somewhere other than {@link IRenderContextProvider#getBlockRenderContext(IBlockAccess, BlockPos)}, such as a cache.
+     */
+    @FunctionalInterface
+    public interface ContextFactory {
+
+        IBlockRenderContext getBlockRenderContext(IBlockRenderType type, IBlockAccess world, BlockPos pos);
+    }
 
-    public RenderContextList() {}
+    public RenderContextList() {
+        contexts = NO_CONTEXTS;
+        slots = NO_SLOTS;
+        signature = NO_DATA;
+        hash = 0;
+    }
 
     public RenderContextList(List<IBlockRenderType> types, IBlockAccess world, BlockPos pos) {
+        this(types, world, pos, IBlockRenderType::getBlockRenderContext);
+    }
+
+    public RenderContextList(List<IBlockRenderType> types, IBlockAccess world, BlockPos pos, ContextFactory factory) {
+        int length = 0;
+        for (IBlockRenderType type : types) {
+            length = Math.max(length, TextureTypeRegistry.getSlot(type) + 1);
+        }
+
+        contexts = new IBlockRenderContext[length];
+        int count = 0;
         for (IBlockRenderType type : types) {
-            IBlockRenderContext ctx = type.getBlockRenderContext(world, pos);
-            if (ctx != null) {
-                contextMap.put(type, ctx);
+            int slot = TextureTypeRegistry.getSlot(type);
+            if (contexts[slot] == null) {
+                IBlockRenderContext ctx = factory.getBlockRenderContext(type, world, pos);
+                if (ctx != null) {
+                    contexts[slot] = ctx;
+                    count++;
+                }
             }
         }
-        
-        for (IBlockRenderContext ctx : contextMap.values()) {
-            serialized.add(ctx.getCompressedData());
+
+        slots = new int[count];
+        signature = new long[count];
+        for (int slot = 0, i = 0; i < count; slot++) {
+            if (contexts[slot] != null) {
+                slots[i] = slot;
+                signature[i++] = contexts[slot].getCompressedData();
+            }
         }
+        hash = 31 * Arrays.hashCode(slots) + Arrays.hashCode(signature);
     }
 
     public IBlockRenderContext getRenderContext(IBlockRenderType type) {
-        return this.contextMap.get(type);
+        int slot = TextureTypeRegistry.getSlot(type);
+        return slot < contexts.length ? contexts[slot] : null;
     }
 
     public boolean contains(IBlockRenderType type) {
         return getRenderContext(type) != null;
     }
 
-    public TLongSet serialized() {
-        return serialized;
+    /**
+     * @return The compressed data of all contexts in this list, ordered by slot. The returned array is shared, <b>do not modify it</b>.
+     */
+    public long[] getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return The slots of all contexts in this list, in the same order as {@link #getSignature()}. The returned array is shared, <b>do not modify it</b>.
+     */
+    public int[] getSlots() {
+        return slots;
+    }
+
+    public boolean isEmpty() {
+        return slots.length == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RenderContextList)) {
+            return false;
+        }
+        RenderContextList other = (RenderContextList) obj;
+        return hash == other.hash && Arrays.equals(signature, other.signature) && Arrays.equals(slots, other.slots);
     }
 }
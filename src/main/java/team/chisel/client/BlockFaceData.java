@@ -33,6 +33,10 @@ public class BlockFaceData {
         }
     }
 
+    public BlockFaceData(VariationFaceData... variationData){
+        this.variationData = variationData;
+    }
+
     public VariationFaceData getForMeta(int meta){
         try {
             return this.variationData[meta];
@@ -7,6 +7,8 @@ import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.client.resources.IResourceManagerReloadListener;
 import team.chisel.Chisel;
 import team.chisel.api.block.ICarvable;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 import team.chisel.common.util.json.JsonHelper;
 
 
@@ -22,8 +24,14 @@ public enum ChiselPackReloadListener implements IResourceManagerReloadListener {
     public void onResourceManagerReload(IResourceManager resourceManager){
         Chisel.debug("Reloading textures");
         JsonHelper.flushCaches();
-        for (ICarvable block : listeners){
-            block.setBlockFaceData(new BlockFaceData(block.getVariations()));
+        TextureStitcher.newGeneration();
+        // Descriptors are resolved in parallel, JsonHelper makes sure each is only created once
+        try (Phase phase = StartupProfiler.start("resolveDescriptors")) {
+            listeners.parallelStream().forEach(block -> {
+                try (Phase blockPhase = StartupProfiler.start(phase, "blocks")) {
+                    block.setBlockFaceData(new BlockFaceData(block.getVariations()));
+                }
+            });
         }
     }
 }
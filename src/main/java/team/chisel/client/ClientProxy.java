@@ -12,11 +12,14 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import team.chisel.Chisel;
 import team.chisel.api.block.ChiselBlockBuilder.VariationBuilder.IVariationBuilderDelegate;
 import team.chisel.api.block.ICarvable;
+import team.chisel.client.gui.GuiHitechChisel;
 import team.chisel.client.handler.DebugHandler;
 import team.chisel.client.handler.TooltipHandler;
 import team.chisel.client.render.ChiselModelRegistry;
 import team.chisel.client.render.ModelLoaderChisel;
+import team.chisel.client.render.ctx.ContextCache;
 import team.chisel.common.CommonProxy;
+import team.chisel.common.carving.CarvingIds;
 import team.chisel.common.init.TextureTypeRegistry;
 
 @SideOnly(Side.CLIENT)
@@ -41,8 +44,10 @@ public class ClientProxy extends CommonProxy {
         // MinecraftForge.EVENT_BUS.register(new NonCTMModelRegistry.BakedEventListener());
         MinecraftForge.EVENT_BUS.register(new TextureStitcher());
         MinecraftForge.EVENT_BUS.register(ChiselModelRegistry.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(ContextCache.INSTANCE);
         MinecraftForge.EVENT_BUS.register(new DebugHandler());
         MinecraftForge.EVENT_BUS.register(new TooltipHandler());
+        MinecraftForge.EVENT_BUS.register(CarvingIds.DisconnectHandler.INSTANCE);
         if (Minecraft.getMinecraft().getResourceManager() instanceof SimpleReloadableResourceManager) {
             SimpleReloadableResourceManager manager = (SimpleReloadableResourceManager) Minecraft.getMinecraft().getResourceManager();
             manager.registerReloadListener(ChiselPackReloadListener.INSTANCE);
@@ -68,6 +73,16 @@ public class ClientProxy extends CommonProxy {
         ChiselPackReloadListener.INSTANCE.registerListener(carvable);
     }
 
+    @Override
+    public void onChiselResult(int sequence, int chiseled, boolean retry) {
+        Minecraft mc = Minecraft.getMinecraft();
+        mc.addScheduledTask(() -> {
+            if (mc.currentScreen instanceof GuiHitechChisel) {
+                ((GuiHitechChisel) mc.currentScreen).onChiselResult(sequence, chiseled, retry);
+            }
+        });
+    }
+
     private static final IVariationBuilderDelegate CLIENT_DELEGATE = new BuilderDelegateClient();
 
     @Override
@@ -1,27 +1,107 @@
 package team.chisel.client;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import lombok.RequiredArgsConstructor;
+import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import team.chisel.Chisel;
 import team.chisel.api.render.TextureSpriteCallback;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
+/**
+ * Registry of the sprites used by chisel textures. Every sprite is kept once, no matter how many textures use it, and is requested from the texture map once per stitch.
+ * <p>
+ * Textures are all rebuilt on every resource reload, which starts a new {@link #newGeneration() generation}. Sprites that are not acquired again by the rebuilt textures are dropped before the next
+ * stitch.
+ */
+@ParametersAreNonnullByDefault
 public class TextureStitcher {
 
-    private static List<TextureSpriteCallback> textures = new ArrayList<TextureSpriteCallback>();
+    @RequiredArgsConstructor
+    private static class Sprite {
+
+        private final TextureSpriteCallback callback;
+        private int references;
+        private int generation;
+    }
+
+    // Sprites are acquired from the threads resolving descriptors
+    private static final Map<ResourceLocation, Sprite> sprites = new ConcurrentHashMap<>();
+
+    private static volatile int generation;
+    /** If any sprites were acquired in this generation, else the textures have not been rebuilt yet and the old sprites are still in use */
+    private static volatile boolean populated;
+
+    private @Nullable Phase stitching;
 
     @SubscribeEvent
     public void onTextureStitch(TextureStitchEvent.Pre event) {
+        stitching = StartupProfiler.start("stitchTextures");
         Chisel.proxy.preTextureStitch();
-        for (TextureSpriteCallback callback : textures) {
-            callback.stitch(event.getMap());
+        if (populated) {
+            sprites.values().removeIf(s -> s.generation != generation);
+        }
+        int references = 0;
+        for (Sprite sprite : sprites.values()) {
+            sprite.callback.stitch(event.getMap());
+            references += sprite.references;
+        }
+        Chisel.logger.info(String.format("Stitching %d chisel sprites, used %d times", getSpriteCount(), references));
+    }
+
+    @SubscribeEvent
+    public void onTextureStitched(TextureStitchEvent.Post event) {
+        if (stitching != null) {
+            stitching.close();
+            stitching = null;
         }
     }
 
-    public static void register(TextureSpriteCallback callback) {
-        textures.add(callback);
+    /**
+     * Gets the sprite at the given location, adding it to the next stitch if it is not there already. Every call must be matched by a {@link #release(ResourceLocation)} if the texture using it is
+     * thrown away before the next reload.
+     */
+    public static TextureSpriteCallback acquire(ResourceLocation loc) {
+        populated = true;
+        return sprites.compute(loc, (l, sprite) -> {
+            if (sprite == null) {
+                sprite = new Sprite(new TextureSpriteCallback(l));
+            }
+            if (sprite.generation != generation) {
+                sprite.generation = generation;
+                sprite.references = 0;
+            }
+            sprite.references++;
+            return sprite;
+        }).callback;
+    }
+
+    /**
+     * Gives up a sprite acquired in this generation. It is not stitched anymore once nothing uses it.
+     */
+    public static void release(ResourceLocation loc) {
+        sprites.computeIfPresent(loc, (l, sprite) -> sprite.generation == generation && --sprite.references <= 0 ? null : sprite);
+    }
+
+    /**
+     * Starts a new generation, before the textures are rebuilt on a resource reload.
+     */
+    public static void newGeneration() {
+        generation++;
+        populated = false;
     }
 
+    /**
+     * @return The amount of distinct sprites held.
+     */
+    public static int getSpriteCount() {
+        return sprites.size();
+    }
 }
@@ -1,7 +1,9 @@
 package team.chisel.client.gui;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -14,6 +16,7 @@ import org.lwjgl.opengl.GLContext;
 import org.lwjgl.util.Rectangle;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +28,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiButton;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.renderer.BlockRendererDispatcher;
+import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.texture.TextureMap;
@@ -41,6 +45,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.WorldType;
@@ -50,7 +55,7 @@ import team.chisel.Chisel;
 import team.chisel.client.ClientUtil;
 import team.chisel.common.inventory.ContainerChiselHitech;
 import team.chisel.common.inventory.InventoryChiselSelection;
-import team.chisel.common.util.NBTUtil;
+import team.chisel.common.util.HitechState;
 
 @ParametersAreNonnullByDefault
 public class GuiHitechChisel extends GuiChisel {
@@ -196,6 +201,15 @@ public class GuiHitechChisel extends GuiChisel {
     private @Nullable PreviewModeButton buttonPreview;
     private @Nullable GuiButton buttonChisel;
     private @Nullable RotateButton buttonRotate;
+    /** The state the chisel held when the GUI was opened, only fields which differ from it are sent when it is closed */
+    private @Nullable HitechState savedState;
+
+    /** Display list holding the preview of {@link #previewState} in {@link #previewType}, -1 until the first preview is drawn */
+    private int previewList = -1;
+    private @Nullable IBlockState previewState;
+    private @Nullable PreviewType previewType;
+    /** The clicks sent to the server by their sequence number, each until its result comes back */
+    private final Map<Integer, PacketChiselButton> pendingClicks = Maps.newHashMap();
     
     public GuiHitechChisel(InventoryPlayer iinventory, InventoryChiselSelection menu, EnumHand hand) {
         super(iinventory, menu, hand);
@@ -217,10 +231,10 @@ public class GuiHitechChisel extends GuiChisel {
         buttonList.add(buttonChisel = new GuiButton(id++, x, y += h + 2, w, h, "Chisel"));
         buttonList.add(buttonRotate = new RotateButton(id++, guiLeft + panel.getX() + panel.getWidth() - 16, guiTop + panel.getY() + panel.getHeight() - 16));
 
-        ItemStack chisel = containerHitech.getChisel();
+        savedState = HitechState.read(containerHitech.getChisel());
         
-        buttonPreview.setType(NBTUtil.getHitechType(chisel));
-        buttonRotate.rotate = NBTUtil.getHitechRotate(chisel);
+        buttonPreview.setType(PreviewType.values()[savedState.getType()]);
+        buttonRotate.rotate = savedState.isRotate();
 
         updateScreen();
     }
@@ -248,15 +262,21 @@ public class GuiHitechChisel extends GuiChisel {
     public void onGuiClosed() {
         super.onGuiClosed();
 
-        if (containerHitech.getChisel() == containerHitech.getInventoryChisel().getStackInSlot(containerHitech.getChiselSlot())) {
-            ItemStack stack = containerHitech.getChisel();
+        if (previewList >= 0) {
+            GLAllocation.deleteDisplayLists(previewList);
+            previewList = -1;
+            previewState = null;
+        }
 
-            NBTUtil.setHitechType(stack, buttonPreview.getType().ordinal());
-            NBTUtil.setHitechSelection(stack, Optional.fromNullable(containerHitech.getSelection()).transform(s -> s.slotNumber).or(-1));
-            NBTUtil.setHitechTarget(stack, Optional.fromNullable(containerHitech.getTarget()).transform(s -> s.slotNumber).or(-1));
-            NBTUtil.setHitechRotate(stack, buttonRotate.rotate());
+        if (containerHitech.getChisel() == containerHitech.getInventoryChisel().getStackInSlot(containerHitech.getChiselSlot())) {
+            HitechState state = new HitechState(buttonPreview.getType().ordinal(), Optional.fromNullable(containerHitech.getSelection()).transform(s -> s.slotNumber).or(-1),
+                    Optional.fromNullable(containerHitech.getTarget()).transform(s -> s.slotNumber).or(-1), buttonRotate.rotate());
 
-            Chisel.network.sendToServer(new PacketChiselNBT(NBTUtil.getChiselTag(containerHitech.getChisel()), containerHitech.getChiselSlot()));
+            int changed = state.diff(savedState);
+            if (changed != 0) {
+                state.write(containerHitech.getChisel());
+                Chisel.network.sendToServer(new PacketHitechState(containerHitech.getChiselSlot(), state, changed));
+            }
         }
     }
 
@@ -343,7 +363,6 @@ public class GuiHitechChisel extends GuiChisel {
                 
         try {
 
-            BlockRendererDispatcher brd = this.mc.getBlockRendererDispatcher();
             if (containerHitech.getTarget() != null) {
                 
                 ItemStack stack = containerHitech.getTarget().getStack();
@@ -368,13 +387,11 @@ public class GuiHitechChisel extends GuiChisel {
                         state = ((IExtendedBlockState) state).getClean();
                     }
 
-                    fakeworld.setState(state);
+                    if (state != previewState || buttonPreview.getType() != previewType) {
+                        compilePreview(state, buttonPreview.getType());
+                    }
 
                     Minecraft.getMinecraft().getTextureManager().bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
-                    Tessellator.getInstance().getBuffer().begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
-                    for (BlockPos pos : buttonPreview.getType().getPositions()) {
-                        brd.renderBlock(state, pos, fakeworld, Tessellator.getInstance().getBuffer());
-                    }
 
                     if (scissorAvailable) {
                         ScaledResolution sr = new ScaledResolution(mc);
@@ -382,7 +399,7 @@ public class GuiHitechChisel extends GuiChisel {
                         GL11.glScissor((guiLeft + panel.getX()) * sr.getScaleFactor(), mc.displayHeight - ((guiTop + panel.getY() + panel.getHeight()) * sr.getScaleFactor()),
                                 panel.getWidth() * sr.getScaleFactor(), panel.getHeight() * sr.getScaleFactor());
                     }
-                    Tessellator.getInstance().draw();
+                    GL11.glCallList(previewList);
                     if (scissorAvailable) {
                         GL11.glDisable(GL11.GL_SCISSOR_TEST);
                     }
@@ -396,6 +413,31 @@ public class GuiHitechChisel extends GuiChisel {
         
         GlStateManager.disableAlpha();
     }
+
+    /**
+     * Renders the blocks of the given preview into the {@link #previewList display list}, which is then drawn every frame under the current rotation and zoom. The blocks, their models and their
+     * connections are only rendered again when the target or preview type changes.
+     */
+    private void compilePreview(IBlockState state, PreviewType type) {
+        if (previewList < 0) {
+            previewList = GLAllocation.generateDisplayLists(1);
+        }
+        previewState = null;
+        fakeworld.setState(state);
+        BlockRendererDispatcher brd = mc.getBlockRendererDispatcher();
+        GL11.glNewList(previewList, GL11.GL_COMPILE);
+        try {
+            Tessellator.getInstance().getBuffer().begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
+            for (BlockPos pos : type.getPositions()) {
+                brd.renderBlock(state, pos, fakeworld, Tessellator.getInstance().getBuffer());
+            }
+            Tessellator.getInstance().draw();
+        } finally {
+            GL11.glEndList();
+        }
+        previewState = state;
+        previewType = type;
+    }
     
     @Override
     protected void mouseClicked(int mouseX, int mouseY, int mouseButton) throws IOException {
@@ -443,12 +485,13 @@ public class GuiHitechChisel extends GuiChisel {
                     slots = ArrayUtils.addAll(slots, containerHitech.getSelectionDuplicates().stream().mapToInt(Slot::getSlotIndex).toArray());
                 }
                 
-                Chisel.network.sendToServer(new PacketChiselButton(converted, containerHitech.getChiselSlot(), slots));
-                
-                PacketChiselButton.chiselAll(player, containerHitech.getChiselSlot(), converted, slots);
-                
-                String sound = container.getCarving().getVariationSound(target.getStack());
-                ClientUtil.playSound(player.worldObj, MathHelper.floor_double(player.posX), MathHelper.floor_double(player.posY), MathHelper.floor_double(player.posZ), sound, SoundCategory.BLOCKS);
+                PacketChiselButton packet = PacketChiselButton.create(converted, containerHitech.getChiselSlot(), slots);
+                if (packet == null) {
+                    Chisel.logger.warn("Can not chisel slots " + Arrays.toString(slots) + ", they are out of the range a chisel packet can hold");
+                    return;
+                }
+                pendingClicks.put(packet.getSequence(), packet);
+                Chisel.network.sendToServer(packet);
                 
                 if (!isShiftDown()) {
                     List<Slot> dupes = containerHitech.getSelectionDuplicates();
@@ -463,13 +506,35 @@ public class GuiHitechChisel extends GuiChisel {
                         next = dupes.get(0);
                     }
                     containerHitech.setSelection(next);
-                } else {
-                    containerHitech.setSelection(selected); // Force duplicate recalc
                 }
             }
         }
     }
 
+    /**
+     * Called once the server has chiseled the items of the click with the given sequence number, after the changed slots were synced. If the server asked for a retry, it has sent its current
+     * table, and that click is sent again against it.
+     */
+    public void onChiselResult(int sequence, int chiseled, boolean retry) {
+        PacketChiselButton click = pendingClicks.remove(sequence);
+        if (retry) {
+            PacketChiselButton packet = click == null ? null : click.retry();
+            if (packet != null) {
+                pendingClicks.put(packet.getSequence(), packet);
+                Chisel.network.sendToServer(packet);
+            } else {
+                player.addChatComponentMessage(new TextComponentTranslation("chisel.message.unknownVariation"));
+            }
+            return;
+        }
+        containerHitech.setSelection(containerHitech.getSelection()); // Force duplicate recalc
+        ItemStack target = containerHitech.getTargetStack();
+        if (chiseled > 0 && target != null) {
+            String sound = container.getCarving().getVariationSound(target);
+            ClientUtil.playSound(player.worldObj, MathHelper.floor_double(player.posX), MathHelper.floor_double(player.posY), MathHelper.floor_double(player.posZ), sound, SoundCategory.BLOCKS);
+        }
+    }
+
     // @Override
 //    protected void renderToolTip(ItemStack stack, int x, int y) {
 //        if (slots.contains(x, y)) {
@@ -0,0 +1,40 @@
+package team.chisel.client.gui;
+
+import io.netty.buffer.ByteBuf;
+import lombok.NoArgsConstructor;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import team.chisel.common.carving.CarvingIds;
+
+/**
+ * Sends the server's {@link CarvingIds} to a client.
+ */
+@NoArgsConstructor
+public class PacketCarvingIds implements IMessage {
+
+    private CarvingIds table;
+
+    public PacketCarvingIds(CarvingIds table) {
+        this.table = table;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        table.write(buf);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        table = CarvingIds.read(buf);
+    }
+
+    public static class Handler implements IMessageHandler<PacketCarvingIds, IMessage> {
+
+        @Override
+        public IMessage onMessage(PacketCarvingIds message, MessageContext ctx) {
+            CarvingIds.setClientTable(message.table);
+            return null;
+        }
+    }
+}
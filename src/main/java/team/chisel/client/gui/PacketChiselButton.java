@@ -1,50 +1,130 @@
 package team.chisel.client.gui;
 
 import java.awt.Container;
-import java.util.Optional;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
 
 import io.netty.buffer.ByteBuf;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import team.chisel.Chisel;
+import team.chisel.api.carving.ICarvingGroup;
+import team.chisel.common.carving.Carving;
+import team.chisel.common.carving.CarvingIds;
 import team.chisel.common.inventory.ContainerChisel;
+import team.chisel.common.inventory.ContainerChiselHitech;
 
+/**
+ * Chisels the given slots of the player's inventory into a variation. The variation is sent as its {@link CarvingIds IDs}, and the slots as a bitmask, so the packet is only a few bytes.
+ */
 @NoArgsConstructor
 public class PacketChiselButton implements IMessage {
 
-    private ItemStack target;
+    /** Never used by a table, for clicks on targets that are not in the client's table */
+    private static final int NO_VERSION = 0;
+
+    /** Numbers the clicks of this client, so that each {@link PacketChiselResult} can be matched to its click */
+    private static int sequences;
+
+    @Getter
+    private int sequence;
+    private int version;
+    private int group;
+    private int variation;
     private int chiselSlot;
-    private int[] slotIds;
+    private long slotMask;
 
-    public PacketChiselButton(ItemStack target, int chiselSlot, int... slots) {
-        this.target = target;
+    /** What the packet was made from, kept on the client to make it again if the server asks for a retry */
+    private @Nullable ItemStack target;
+    private int[] slots;
+    private boolean retried;
+
+    private PacketChiselButton(int version, int id, int chiselSlot, long slotMask) {
+        this.sequence = ++sequences & 0x7FFFFFFF;
+        this.version = version;
+        this.group = id >>> 16;
+        this.variation = id & 0xFFFF;
         this.chiselSlot = chiselSlot;
-        this.slotIds = slots;
+        this.slotMask = slotMask;
+    }
+
+    /**
+     * Makes the packet to chisel the given slots into the target. If the target is not in the client's table, which can be missing or outdated, the packet only makes the server send its current
+     * table and ask for a {@link #retry()}.
+     * 
+     * @return The packet, or null if a slot is out of range.
+     */
+    public static @Nullable PacketChiselButton create(ItemStack target, int chiselSlot, int... slots) {
+        CarvingIds table = CarvingIds.getClientTable();
+        int id = table == null ? -1 : table.getId(target);
+        long mask = 0;
+        for (int i : slots) {
+            if (i < 0 || i >= Long.SIZE) {
+                return null;
+            }
+            mask |= 1L << i;
+        }
+        PacketChiselButton ret = id < 0 ? new PacketChiselButton(NO_VERSION, 0, chiselSlot, mask) : new PacketChiselButton(table.getVersion(), id, chiselSlot, mask);
+        ret.target = target;
+        ret.slots = slots;
+        return ret;
+    }
+
+    /**
+     * @return The same click made again against the current table, after the server sent a new one, with a new sequence number. Null if this was a retry already, or the target is still not in the
+     *         table.
+     */
+    public @Nullable PacketChiselButton retry() {
+        if (retried || target == null) {
+            return null;
+        }
+        PacketChiselButton ret = create(target, chiselSlot, slots);
+        if (ret == null || ret.version == NO_VERSION) {
+            return null;
+        }
+        ret.retried = true;
+        return ret;
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        ByteBufUtils.writeItemStack(buf, target);
+        ByteBufUtils.writeVarInt(buf, sequence, 5);
+        ByteBufUtils.writeVarInt(buf, version, 5);
+        ByteBufUtils.writeVarInt(buf, group, 5);
+        ByteBufUtils.writeVarInt(buf, variation, 5);
         buf.writeByte(chiselSlot);
-        buf.writeByte(slotIds.length);
-        for (int i : slotIds) {
-            buf.writeByte(i);
+        // Inventory slots rarely go past 35, so most masks fit in 5 bytes or less
+        long mask = slotMask;
+        while ((mask & ~0x7FL) != 0) {
+            buf.writeByte((int) (mask & 0x7F) | 0x80);
+            mask >>>= 7;
         }
+        buf.writeByte((int) mask);
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        target = ByteBufUtils.readItemStack(buf);
-        chiselSlot = buf.readByte();
-        int len = buf.readByte();
-        slotIds = new int[len];
-        for (int i = 0; i < slotIds.length; i++) {
-            slotIds[i] = buf.readByte();
+        sequence = ByteBufUtils.readVarInt(buf, 5);
+        version = ByteBufUtils.readVarInt(buf, 5);
+        group = ByteBufUtils.readVarInt(buf, 5);
+        variation = ByteBufUtils.readVarInt(buf, 5);
+        chiselSlot = buf.readUnsignedByte();
+        slotMask = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buf.readByte();
+            slotMask |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
         }
     }
 
@@ -53,42 +133,104 @@ public class PacketChiselButton implements IMessage {
         @Override
         public IMessage onMessage(PacketChiselButton message, MessageContext ctx) {
             EntityPlayerMP player = ctx.getServerHandler().playerEntity;
-            chiselAll(player, message.chiselSlot, message.target, message.slotIds);
+            ((WorldServer) player.worldObj).addScheduledTask(() -> handle(message, player));
             return null;
         }
+
+        private void handle(PacketChiselButton message, EntityPlayerMP player) {
+            if (message.chiselSlot >= player.inventory.getSizeInventory()) {
+                return;
+            }
+            CarvingIds table = CarvingIds.getServerTable();
+            if (table.getVersion() != message.version) {
+                // The groups changed since the client got its table, or it has none, it has to try again with the new one
+                CarvingIds.send(player);
+                Chisel.network.sendTo(new PacketChiselResult(message.sequence, 0, true), player);
+                return;
+            }
+            ItemStack target = table.getStack(message.group, message.variation);
+            if (target == null) {
+                return;
+            }
+            ICarvingGroup group = Carving.chisel.getGroup(target);
+            int[] slots = new int[Long.bitCount(message.slotMask)];
+            int count = 0;
+            for (long mask = message.slotMask; mask != 0; mask &= mask - 1) {
+                int slot = Long.numberOfTrailingZeros(mask);
+                ItemStack stack = slot < player.inventory.getSizeInventory() ? player.inventory.getStackInSlot(slot) : null;
+                // Only chisel what can actually be chiseled into the target
+                // Slots already holding the target are skipped, as when a click is sent again before its result came back
+                if (stack != null && group != null && Carving.chisel.getGroup(stack) == group && !ItemStack.areItemsEqual(stack, target)) {
+                    slots[count++] = slot;
+                }
+            }
+            int chiseled = chiselAll(player, message.chiselSlot, target, Arrays.copyOf(slots, count));
+            if (player.openContainer instanceof ContainerChiselHitech) {
+                ContainerChiselHitech container = (ContainerChiselHitech) player.openContainer;
+                container.setSelection(container.getSelection());
+            }
+            // Sync the changed slots before the result, so the client sees them by the time it gets it
+            player.openContainer.detectAndSendChanges();
+            Chisel.network.sendTo(new PacketChiselResult(message.sequence, chiseled, false), player);
+        }
     }
     
-    public static void chiselAll(EntityPlayer player, int chiselSlot, ItemStack target, int[] slots) {
-        if (player.openContainer instanceof ContainerChisel) {
-            ContainerChisel container = (ContainerChisel) player.openContainer;
-            ItemStack chisel = player.inventory.getStackInSlot(chiselSlot);
-            if (chisel == null) {
-                return;
+    /**
+     * Chisels the given slots into the target in one pass. How much of each slot can be chiseled before the chisel breaks is planned first, then all slots are changed and the chisel is damaged
+     * once.
+     * 
+     * @return The amount of items chiseled.
+     */
+    public static int chiselAll(EntityPlayer player, int chiselSlot, ItemStack target, int[] slots) {
+        if (!(player.openContainer instanceof ContainerChisel)) {
+            return 0;
+        }
+        ContainerChisel container = (ContainerChisel) player.openContainer;
+        ItemStack chisel = player.inventory.getStackInSlot(chiselSlot);
+        if (chisel == null) {
+            return 0;
+        }
+
+        int uses = chisel.isItemStackDamageable() ? chisel.getMaxDamage() - chisel.getItemDamage() + 1 : Integer.MAX_VALUE;
+        int[] amounts = new int[slots.length];
+        int total = 0;
+        for (int i = 0; i < slots.length && total < uses; i++) {
+            ItemStack s = player.inventory.getStackInSlot(slots[i]);
+            if (s != null) {
+                amounts[i] = Math.min(s.stackSize, uses - total);
+                total += amounts[i];
             }
-            for (int i : slots) {
-                ItemStack stack = target.copy();
-                int damageLeft = chisel.getMaxDamage() - chisel.getItemDamage() + 1;
-                Optional.ofNullable(player.inventory.getStackInSlot(i)).ifPresent(s -> {
-                    int toCraft = Math.min(s.stackSize, damageLeft);
-                    stack.stackSize = toCraft;
-                    player.inventory.setInventorySlotContents(i, stack);
-                    chisel.damageItem(toCraft, player);
-                    if (chisel.stackSize <= 0) {
-                        container.getInventoryChisel().getStackInSpecialSlot().stackSize = s.stackSize - toCraft;
-                        player.inventory.setInventorySlotContents(chiselSlot, null);
-                        if (s.stackSize > toCraft) {
-                            ItemStack remainder = s.copy();
-                            remainder.stackSize = s.stackSize - toCraft;
-                            if (!player.inventory.addItemStackToInventory(remainder)) {
-                                player.dropItem(remainder, false);
-                            }
-                        }
-                    }
-                });
-                if (chisel.stackSize < 1) {
-                    return;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        // Only the last slot can be left partly chiseled, if the chisel runs out on it
+        ItemStack remainder = null;
+        for (int i = 0; i < slots.length; i++) {
+            if (amounts[i] > 0) {
+                ItemStack s = player.inventory.getStackInSlot(slots[i]);
+                if (s.stackSize > amounts[i]) {
+                    remainder = s.copy();
+                    remainder.stackSize = s.stackSize - amounts[i];
                 }
+                ItemStack stack = target.copy();
+                stack.stackSize = amounts[i];
+                player.inventory.setInventorySlotContents(slots[i], stack);
+            }
+        }
+
+        chisel.damageItem(total, player);
+        if (chisel.stackSize <= 0) {
+            ItemStack input = container.getInventoryChisel().getStackInSpecialSlot();
+            if (input != null) {
+                input.stackSize = remainder == null ? 0 : remainder.stackSize;
+            }
+            player.inventory.setInventorySlotContents(chiselSlot, null);
+            if (remainder != null && !player.inventory.addItemStackToInventory(remainder)) {
+                player.dropItem(remainder, false);
             }
         }
+        return total;
     }
 }
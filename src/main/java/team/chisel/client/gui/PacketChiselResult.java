@@ -0,0 +1,51 @@
+package team.chisel.client.gui;
+
+import io.netty.buffer.ByteBuf;
+import lombok.NoArgsConstructor;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import team.chisel.Chisel;
+
+/**
+ * Tells the client how many items a {@link PacketChiselButton} chiseled, by the sequence number of the click. Sent after the changed slots, which the client only updates from the server.
+ * <p>
+ * If the click was made against an outdated or missing {@link team.chisel.common.carving.CarvingIds table}, nothing was chiseled and the client is asked to retry it, after the new table.
+ */
+@NoArgsConstructor
+public class PacketChiselResult implements IMessage {
+
+    private int sequence;
+    private int chiseled;
+    private boolean retry;
+
+    public PacketChiselResult(int sequence, int chiseled, boolean retry) {
+        this.sequence = sequence;
+        this.chiseled = chiseled;
+        this.retry = retry;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        ByteBufUtils.writeVarInt(buf, sequence, 5);
+        ByteBufUtils.writeVarInt(buf, chiseled, 5);
+        buf.writeBoolean(retry);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        sequence = ByteBufUtils.readVarInt(buf, 5);
+        chiseled = ByteBufUtils.readVarInt(buf, 5);
+        retry = buf.readBoolean();
+    }
+
+    public static class Handler implements IMessageHandler<PacketChiselResult, IMessage> {
+
+        @Override
+        public IMessage onMessage(PacketChiselResult message, MessageContext ctx) {
+            Chisel.proxy.onChiselResult(message.sequence, message.chiseled, message.retry);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package team.chisel.client.gui;
+
+import io.netty.buffer.ByteBuf;
+import lombok.NoArgsConstructor;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import team.chisel.Chisel;
+import team.chisel.common.util.HitechState;
+
+/**
+ * Sends the fields of the {@link HitechState} that changed while the hitech chisel's GUI was open.
+ */
+@NoArgsConstructor
+public class PacketHitechState implements IMessage {
+
+    private int chiselSlot;
+    private int fields;
+    private HitechState state;
+
+    public PacketHitechState(int chiselSlot, HitechState state, int fields) {
+        this.chiselSlot = chiselSlot;
+        this.state = state;
+        this.fields = fields;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeByte(chiselSlot);
+        buf.writeByte(fields);
+        state.write(buf, fields);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        chiselSlot = buf.readUnsignedByte();
+        fields = buf.readByte();
+        state = HitechState.read(buf, fields);
+    }
+
+    public static class Handler implements IMessageHandler<PacketHitechState, IMessage> {
+
+        @Override
+        public IMessage onMessage(PacketHitechState message, MessageContext ctx) {
+            EntityPlayerMP player = ctx.getServerHandler().playerEntity;
+            ((WorldServer) player.worldObj).addScheduledTask(() -> handle(message, player));
+            return null;
+        }
+
+        private void handle(PacketHitechState message, EntityPlayerMP player) {
+            if (message.state.getType() >= PreviewType.values().length || message.chiselSlot >= player.inventory.getSizeInventory()) {
+                return;
+            }
+            ItemStack stack = player.inventory.getStackInSlot(message.chiselSlot);
+            if (stack != null && stack.getItem() == Chisel.itemChiselHitech) {
+                // Leaves the item alone if nothing actually differs, so it is not synced again
+                HitechState.read(stack).with(message.state, message.fields).write(stack);
+            }
+        }
+    }
+}
@@ -6,6 +6,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.RayTraceResult.Type;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import team.chisel.api.block.ICarvable;
+import team.chisel.client.render.ModelCache;
+import team.chisel.client.render.ModelChiselBlock;
+import team.chisel.client.render.QuadTable;
+import team.chisel.client.render.ctx.ContextCache;
 
 /**
  * Handler to debug stuff
@@ -55,6 +60,24 @@ public class DebugHandler {
 //        }
     }
 
+    @SubscribeEvent
+    public void onDebugText(RenderGameOverlayEvent.Text event) {
+        if (!Minecraft.getMinecraft().gameSettings.showDebugInfo) {
+            return;
+        }
+        ContextCache cache = ContextCache.INSTANCE;
+        event.getRight().add("");
+        event.getRight().add(String.format("Chisel ctx cache: %.1f%% hits, %d sections, %d KB", cache.getHitRate() * 100, cache.getSectionCount(), cache.getMemoryUsage() / 1024));
+        ModelCache.Stats models = ModelChiselBlock.getModelcache().getTotalStats();
+        event.getRight().add(String.format("Chisel models: %d cached, %.1f%% hits, %d evicted", ModelChiselBlock.getModelcache().size(), models.getHitRate() * 100, models.getEvictions()));
+        IBlockState state = getBlockStateLooking();
+        if (state != null && state.getBlock() instanceof ICarvable) {
+            ModelCache.Stats block = ModelChiselBlock.getModelcache().getStats(state.getBlock());
+            event.getRight().add(String.format("%s: %.1f%% hits, %d evicted", state.getBlock().getRegistryName(), block.getHitRate() * 100, block.getEvictions()));
+        }
+        event.getRight().add(String.format("Chisel quad tables: %d quads, %d KB", QuadTable.getTotalQuadCount(), QuadTable.getTotalMemoryUsage() / 1024));
+    }
+
     private static IBlockState getBlockStateLooking() {
         Minecraft mc = Minecraft.getMinecraft();
         if (mc.objectMouseOver != null && mc.objectMouseOver.typeOfHit == Type.BLOCK && mc.objectMouseOver.getBlockPos() != null) {
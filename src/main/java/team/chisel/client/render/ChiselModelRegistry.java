@@ -1,7 +1,9 @@
 package team.chisel.client.render;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.minecraft.block.Block;
@@ -19,6 +21,8 @@ import team.chisel.Chisel;
 import team.chisel.api.block.ICarvable;
 import team.chisel.api.block.VariationData;
 import team.chisel.common.Reference;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 /**
  * Chisel's model registry
@@ -28,6 +32,7 @@ public enum ChiselModelRegistry implements Reference {
     INSTANCE;
 
     private final Map<ModelResourceLocation, ModelChiselBlock> models = new HashMap<ModelResourceLocation, ModelChiselBlock>();
+    private final List<Block> blocks = new ArrayList<>();
 
     public void register(ModelResourceLocation loc, ModelChiselBlock block) {
 //        ((Map<ResourceLocation, ModelBlockDefinition>)blockDefinitions.get(event.modelBakery)).put(loc)
@@ -35,6 +40,7 @@ public enum ChiselModelRegistry implements Reference {
     }
 
     public <T extends Block & ICarvable> void register(T block) {
+        blocks.add(block);
         ModelLoader.setCustomStateMapper(block, new StateMapperBase() {
             
             @Override
@@ -65,9 +71,15 @@ public enum ChiselModelRegistry implements Reference {
 
     @SubscribeEvent
     public void onModelBake(ModelBakeEvent event) throws IOException {
+        ModelChiselBlock.getModelcache().clear();
         for (Map.Entry<ModelResourceLocation, ModelChiselBlock> entry : models.entrySet()) {
             Chisel.debug("Registering model for " + entry.getKey().toString());
             event.getModelRegistry().putObject(entry.getKey(), entry.getValue());
         }
+        Chisel.logger.info(String.format("Precomputed %d connected texture quads, using about %d KB", QuadTable.getTotalQuadCount(), QuadTable.getTotalMemoryUsage() / 1024));
+        try (Phase phase = StartupProfiler.start("prebakeModels")) {
+            ModelPrebaker.prebake(event, blocks);
+        }
+        StartupProfiler.update();
     }
 }
@@ -9,6 +9,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import team.chisel.Chisel;
 import team.chisel.client.render.ctm.CTM;
+import team.chisel.client.render.ctx.NeighbourhoodSnapshot;
 import team.chisel.common.util.Dir;
 
 /**
@@ -86,8 +87,11 @@ public enum ConnectionLocations {
         this.offset = offset;
     }
 
+    /**
+     * @return The {@link Dir} that points at this location from a face with the given normal, or null if this location is not in the plane of that face.
+     */
     public Dir getDirForSide(EnumFacing facing){
-        return dir == null ? null : dir.relativize(facing);
+        return SIDE_DIRS[ordinal()][facing.ordinal()];
     }
 
     public EnumFacing clipOrDestroy(EnumFacing direction) {
@@ -116,6 +120,25 @@ public enum ConnectionLocations {
         return pos;
     }
 
+    private static final Dir[][] SIDE_DIRS = new Dir[VALUES.length][EnumFacing.VALUES.length];
+    static {
+        for (ConnectionLocations loc : VALUES) {
+            BlockPos offset = loc.transform(BlockPos.ORIGIN);
+            for (EnumFacing side : EnumFacing.VALUES) {
+                for (Dir dir : Dir.VALUES) {
+                    BlockPos connection = BlockPos.ORIGIN;
+                    for (EnumFacing f : dir.getNormalizedDirs(side)) {
+                        connection = connection.offset(f);
+                    }
+                    if (connection.equals(offset)) {
+                        SIDE_DIRS[loc.ordinal()][side.ordinal()] = dir;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
     public static ConnectionLocations fromFacing(EnumFacing facing){
         switch (facing){
             case NORTH: return NORTH;
@@ -150,8 +173,11 @@ public enum ConnectionLocations {
         return list;
     }
 
+    /**
+     * @return The bit of this location in a location mask. There are more than 32 locations, so this must be a long shift.
+     */
     public long getMask(){
-        return 1 << ordinal();
+        return 1L << ordinal();
     }
 
     public static List<ConnectionLocations> getConnections(IBlockAccess world, BlockPos pos, ConnectionLocations[] values){
@@ -167,17 +193,23 @@ public enum ConnectionLocations {
     }
 
     public static long getData(IBlockAccess world, BlockPos pos, ConnectionLocations[] values){
-        List<ConnectionLocations> locs = getConnections(world, pos, values);
+        return getData(NeighbourhoodSnapshot.of(world, pos), values);
+    }
+
+    public static long getData(NeighbourhoodSnapshot snapshot, ConnectionLocations[] values){
+        IBlockState state = snapshot.getState(NeighbourhoodSnapshot.CENTER);
         long data = 0;
-        for (ConnectionLocations loc : locs){
-            data = data | loc.getMask();
+        for (ConnectionLocations loc : values){
+            if (state.equals(snapshot.getStateOrFacade(NeighbourhoodSnapshot.slot(loc), null))){
+                data = data | loc.getMask();
+            }
         }
         if (Chisel.debug) {
             String s = Long.toBinaryString(data);
-            while (s.length() < 32) {
+            while (s.length() < 64) {
                 s = "0" + s;
             }
-            System.out.println(pos + ": " + s);
+            System.out.println(snapshot.getPos() + ": " + s);
         }
         return data;
     }
@@ -0,0 +1,228 @@
+package team.chisel.client.render;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import lombok.Getter;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import team.chisel.api.render.RenderContextList;
+import team.chisel.common.config.Configurations;
+import team.chisel.common.config.ModelCachePolicy;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Cache of {@link ModelChiselBlock models} built for a block state and its render context signature.
+ * <p>
+ * Entries are keyed by a single long, packed from the state id and the hash of the {@link RenderContextList}. The full signature is kept in the entry and checked on every hit, so two keys which pack to the same long
+ * simply evict each other. The capacity and eviction {@link ModelCachePolicy policy} are read from {@link Configurations} whenever they are used, so they can be changed at runtime.
+ */
+@ParametersAreNonnullByDefault
+public class ModelCache {
+
+    @Getter
+    public static class Stats {
+
+        private long hits, misses, evictions;
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /** The share of the capacity reserved for the protected segment */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private static final RenderContextList EMPTY = new RenderContextList();
+
+    private static class Entry {
+
+        private long key;
+        private IBlockState state;
+        private int[] slots;
+        private long[] signature;
+        private ModelChiselBlock model;
+
+        private boolean protect;
+        private Entry prev, next;
+
+        Entry() {
+            prev = next = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = this;
+        }
+
+        /**
+         * Links this entry in as the most recently used entry of the segment starting at the given sentinel.
+         */
+        void linkBefore(Entry head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+    }
+
+    private final TLongObjectMap<Entry> entries = new TLongObjectHashMap<>();
+    /** Sentinels of the two segments. The entry after a sentinel is the least recently used. */
+    private final Entry probation = new Entry(), protect = new Entry();
+    private int protectedSize;
+
+    private final Map<Block, Stats> stats = Maps.newIdentityHashMap();
+    private final Stats total = new Stats();
+
+    /**
+     * Gets the model for the given state and contexts, creating it with the given loader on a miss. The loader is called outside of any lock.
+     */
+    public ModelChiselBlock get(IBlockState state, @Nullable RenderContextList ctx, Supplier<ModelChiselBlock> loader) {
+        if (ctx == null) {
+            ctx = EMPTY;
+        }
+        long key = pack(state, ctx);
+        synchronized (this) {
+            Entry e = entries.get(key);
+            Stats s = statsFor(state.getBlock());
+            if (e != null && matches(e, state, ctx)) {
+                s.hits++;
+                total.hits++;
+                touch(e);
+                return e.model;
+            }
+            s.misses++;
+            total.misses++;
+        }
+
+        ModelChiselBlock model = loader.get();
+
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (matches(e, state, ctx)) {
+                    // Another thread created the same model in the meantime
+                    return e.model;
+                }
+                remove(e);
+                evicted(e);
+            }
+            e = new Entry();
+            e.key = key;
+            e.state = state;
+            e.slots = ctx.getSlots();
+            e.signature = ctx.getSignature();
+            e.model = model;
+            entries.put(key, e);
+            e.linkBefore(probation);
+            evict();
+        }
+        return model;
+    }
+
+    private static long pack(IBlockState state, RenderContextList ctx) {
+        return ((long) Block.getStateId(state) << 32) | (ctx.hashCode() & 0xFFFFFFFFL);
+    }
+
+    private static boolean matches(Entry e, IBlockState state, RenderContextList ctx) {
+        return e.state == state && Arrays.equals(e.signature, ctx.getSignature()) && Arrays.equals(e.slots, ctx.getSlots());
+    }
+
+    private void touch(Entry e) {
+        e.unlink();
+        if (Configurations.modelCachePolicy == ModelCachePolicy.LRU) {
+            if (e.protect) {
+                e.protect = false;
+                protectedSize--;
+            }
+            e.linkBefore(probation);
+            return;
+        }
+        if (!e.protect) {
+            e.protect = true;
+            protectedSize++;
+        }
+        e.linkBefore(protect);
+        int maxProtected = (int) (getCapacity() * PROTECTED_RATIO);
+        while (protectedSize > maxProtected && protect.next != protect) {
+            Entry demoted = protect.next;
+            demoted.unlink();
+            demoted.protect = false;
+            protectedSize--;
+            demoted.linkBefore(probation);
+        }
+    }
+
+    private void evict() {
+        int capacity = getCapacity();
+        while (entries.size() > capacity) {
+            Entry victim = probation.next != probation ? probation.next : protect.next;
+            remove(victim);
+            evicted(victim);
+        }
+    }
+
+    private void remove(Entry e) {
+        entries.remove(e.key);
+        e.unlink();
+        if (e.protect) {
+            protectedSize--;
+        }
+    }
+
+    private void evicted(Entry e) {
+        statsFor(e.state.getBlock()).evictions++;
+        total.evictions++;
+    }
+
+    private Stats statsFor(Block block) {
+        return stats.computeIfAbsent(block, b -> new Stats());
+    }
+
+    private static int getCapacity() {
+        return Math.max(1, Configurations.modelCacheSize);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        probation.unlink();
+        protect.unlink();
+        protectedSize = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return A copy of the statistics of all blocks combined.
+     */
+    public synchronized Stats getTotalStats() {
+        return copy(total);
+    }
+
+    /**
+     * @return A copy of the statistics of the given block.
+     */
+    public synchronized Stats getStats(Block block) {
+        return copy(stats.getOrDefault(block, new Stats()));
+    }
+
+    private static Stats copy(Stats stats) {
+        Stats ret = new Stats();
+        ret.hits = stats.hits;
+        ret.misses = stats.misses;
+        ret.evictions = stats.evictions;
+        return ret;
+    }
+}
@@ -5,11 +5,13 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.block.model.IBakedModel;
 import net.minecraft.client.renderer.block.model.Variant;
 import net.minecraft.client.renderer.block.statemap.DefaultStateMapper;
@@ -26,6 +28,8 @@ import net.minecraftforge.common.model.IModelState;
 import net.minecraftforge.common.model.TRSRTransformation;
 import net.minecraftforge.common.property.IExtendedBlockState;
 import team.chisel.api.render.IChiselFace;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 import team.chisel.common.util.json.JsonHelper;
 
 import com.google.common.base.Function;
@@ -50,7 +54,7 @@ public class ModelChisel implements IModel {
     
     private transient Map<String, IBakedModel> modelsObj = Maps.newHashMap();
     
-    private transient Map<IBlockState, IBakedModel> stateMap = Maps.newHashMap();
+    private transient Map<IBlockState, IBakedModel> stateMap = new ConcurrentHashMap<>();
     
     private transient List<ResourceLocation> textures = Lists.newArrayList();
     
@@ -68,13 +72,34 @@ public class ModelChisel implements IModel {
 
     @Override
     public IBakedModel bake(IModelState state, VertexFormat format, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
-        Function<ResourceLocation, TextureAtlasSprite> dummyGetter = t -> Minecraft.getMinecraft().getTextureMapBlocks().getAtlasSprite(TextureMap.LOCATION_MISSING_TEXTURE.toString());
-        modelObj = bake(model, format, dummyGetter);
-        for (Entry<String, Variant> e : models.entrySet()) {
-            Variant v = e.getValue();
-            modelsObj.put(e.getKey(), bake(v, format, dummyGetter));
+        try (Phase phase = StartupProfiler.start("bakeModels")) {
+            Function<ResourceLocation, TextureAtlasSprite> dummyGetter = t -> Minecraft.getMinecraft().getTextureMapBlocks().getAtlasSprite(TextureMap.LOCATION_MISSING_TEXTURE.toString());
+            modelObj = bake(model, format, dummyGetter);
+            for (Entry<String, Variant> e : models.entrySet()) {
+                Variant v = e.getValue();
+                modelsObj.put(e.getKey(), bake(v, format, dummyGetter));
+            }
+            precompute(modelObj);
+            modelsObj.values().forEach(this::precompute);
+            return new ModelChiselBlock(this);
+        }
+    }
+
+    /**
+     * Caches the subdivided geometry of every quad of the given model, and lets the textures of every face compute their quads for it ahead of time.
+     */
+    private void precompute(IBakedModel baked) {
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            IChiselFace face = getFace(facing);
+            for (BakedQuad q : baked.getQuads(null, facing, 0)) {
+                PackedQuad.precomputeSubdivision(q);
+                face.getTextureList().forEach(t -> t.precomputeQuad(q));
+            }
+        }
+        for (BakedQuad q : baked.getQuads(null, null, 0)) {
+            PackedQuad.precomputeSubdivision(q);
+            getFace(q.getFace()).getTextureList().forEach(t -> t.precomputeQuad(q));
         }
-        return new ModelChiselBlock(this);
     }
     
     @SneakyThrows
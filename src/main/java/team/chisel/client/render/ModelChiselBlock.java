@@ -1,19 +1,14 @@
 package team.chisel.client.render;
 
-import gnu.trove.set.TLongSet;
-
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.vecmath.Matrix4f;
 import javax.vecmath.Vector3f;
 
-import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
-import lombok.Value;
+import lombok.Getter;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.block.model.BakedQuad;
@@ -41,8 +36,6 @@ import team.chisel.api.render.IChiselTexture;
 import team.chisel.api.render.RenderContextList;
 import team.chisel.common.block.BlockCarvable;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -66,51 +59,54 @@ public class ModelChiselBlock implements IPerspectiveAwareModel {
 		}
 
 	    @Override
-	    @SneakyThrows
 	    public IBakedModel handleItemState(IBakedModel originalModel, ItemStack stack, World world, EntityLivingBase entity) {
 	        Block block = ((ItemBlock) stack.getItem()).getBlock();
-	        return modelcache.get(State.of(((BlockCarvable)block).getStateFromMeta(stack.getMetadata()), null), () -> createModel(block.getDefaultState(), model, null));
+	        return getItemModel(((BlockCarvable)block).getStateFromMeta(stack.getMetadata()));
 	    }
 	}
 	
-	@Value
-	@AllArgsConstructor(staticName = "of")
-	private static class State {
-	    IBlockState cleanState;
-	    TLongSet serializedContext;
-	}
-
     private ListMultimap<BlockRenderLayer, BakedQuad> genQuads = MultimapBuilder.enumKeys(BlockRenderLayer.class).arrayListValues().build();
     private Table<BlockRenderLayer, EnumFacing, List<BakedQuad>> faceQuads = Tables.newCustomTable(Maps.newEnumMap(BlockRenderLayer.class), () -> Maps.newEnumMap(EnumFacing.class));
 
     private ModelChisel model;
     private Overrides overrides = new Overrides();
         
-    private static Cache<State, ModelChiselBlock> modelcache = CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).maximumSize(500).<State, ModelChiselBlock>build();
+    @Getter
+    private static final ModelCache modelcache = new ModelCache();
     
     public ModelChiselBlock(ModelChisel model) {
         this.model = model;
     }
 
     @Override
-    @SneakyThrows
     public List<BakedQuad> getQuads(IBlockState state, EnumFacing side, long rand) {
-        ModelChiselBlock baked;
+        ModelChiselBlock baked = getModel(state);
+        BlockRenderLayer layer = MinecraftForgeClient.getRenderLayer();
+        return side == null ? baked.genQuads.get(layer) : layer == null ? baked.faceQuads.column(side).values().stream().flatMap(List::stream).collect(Collectors.toList()) : baked.faceQuads.get(layer, side);
+    }
+
+    /**
+     * Gets the model for the given extended state from the cache, creating it if needed. Safe to call from any thread.
+     */
+    public ModelChiselBlock getModel(@Nullable IBlockState state) {
         if (state != null && state.getBlock() instanceof ICarvable && state instanceof IExtendedBlockState) {
             IExtendedBlockState ext = (IExtendedBlockState) state;
             IBlockState clean = ext.getClean();
             RenderContextList ctxList = ext.getValue(BlockCarvable.CTX_LIST);
             if (ctxList == null) {
-                baked = modelcache.get(State.of(clean, null), () -> createModel(state, model, null));
+                return modelcache.get(clean, null, () -> createModel(state, model, null));
             } else {
-                TLongSet serialized = ctxList.serialized();
-                baked = modelcache.get(State.of(clean, serialized), () -> createModel(ext, model, ctxList));
+                return modelcache.get(clean, ctxList, () -> createModel(ext, model, ctxList));
             }
-        } else {
-            baked = this;
         }
-        BlockRenderLayer layer = MinecraftForgeClient.getRenderLayer();
-        return side == null ? baked.genQuads.get(layer) : layer == null ? baked.faceQuads.column(side).values().stream().flatMap(List::stream).collect(Collectors.toList()) : baked.faceQuads.get(layer, side);
+        return this;
+    }
+
+    /**
+     * Gets the inventory model of the given variation from the cache, creating it if needed. Safe to call from any thread.
+     */
+    public ModelChiselBlock getItemModel(IBlockState state) {
+        return modelcache.get(state, null, () -> createModel(state.getBlock().getDefaultState(), model, null));
     }
 
     @Override
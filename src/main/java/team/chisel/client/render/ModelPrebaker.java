@@ -0,0 +1,229 @@
+package team.chisel.client.render;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import lombok.RequiredArgsConstructor;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.client.renderer.block.statemap.BlockStateMapper;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.client.event.ModelBakeEvent;
+import team.chisel.Chisel;
+import team.chisel.common.config.Configurations;
+
+/**
+ * Builds the models of chisel blocks ahead of time after the models are baked, so that blocks do not stutter the first time they come into view.
+ * <p>
+ * For every variation, the inventory model and the models of a few common arrangements of neighbours are built in parallel, and published into the {@link ModelChiselBlock#getModelcache() model
+ * cache}. Building stops once the configured time budget runs out, anything left over is built when it is first needed, as before.
+ */
+@ParametersAreNonnullByDefault
+public class ModelPrebaker {
+
+    /**
+     * Arrangements of a block and its copies around it, in order of how common they are.
+     */
+    private enum Arrangement {
+        ISOLATED,
+        FULL,
+        FLOOR,
+        WALL_X,
+        WALL_Z,
+        PILLAR,
+        ROW_X,
+        ROW_Z;
+
+        boolean contains(int x, int y, int z) {
+            switch (this) {
+            case ISOLATED:
+                return x == 0 && y == 0 && z == 0;
+            case FULL:
+                return true;
+            case FLOOR:
+                return y == 0;
+            case WALL_X:
+                return z == 0;
+            case WALL_Z:
+                return x == 0;
+            case PILLAR:
+                return x == 0 && z == 0;
+            case ROW_X:
+                return y == 0 && z == 0;
+            case ROW_Z:
+                return x == 0 && y == 0;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A world holding a single arrangement of one state around the origin, up to the reach of connected textures.
+     */
+    @RequiredArgsConstructor
+    private static class ArrangementAccess implements IBlockAccess {
+
+        private static final int RADIUS = 2;
+
+        private final IBlockState state;
+        private final Arrangement arrangement;
+
+        @Override
+        public IBlockState getBlockState(BlockPos pos) {
+            int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+            if (Math.abs(x) > RADIUS || Math.abs(y) > RADIUS || Math.abs(z) > RADIUS || !arrangement.contains(x, y, z)) {
+                return Blocks.AIR.getDefaultState();
+            }
+            return state;
+        }
+
+        @Override
+        public @Nullable TileEntity getTileEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public int getCombinedLight(BlockPos pos, int lightValue) {
+            return 0;
+        }
+
+        @Override
+        public boolean isAirBlock(BlockPos pos) {
+            IBlockState state = getBlockState(pos);
+            return state.getBlock().isAir(state, this, pos);
+        }
+
+        @Override
+        public Biome getBiome(BlockPos pos) {
+            return Biomes.PLAINS;
+        }
+
+        // @Override 1.9 only. Not actually ever called, just here for compilation.
+        public boolean extendedLevelsInChunkCache() {
+            return false;
+        }
+
+        @Override
+        public int getStrongPower(BlockPos pos, EnumFacing direction) {
+            return 0;
+        }
+
+        @Override
+        public WorldType getWorldType() {
+            return WorldType.DEFAULT;
+        }
+
+        @Override
+        public boolean isSideSolid(BlockPos pos, EnumFacing side, boolean _default) {
+            return getBlockState(pos).isSideSolid(this, pos, side);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Variation {
+
+        private final IBlockState state;
+        private final ModelChiselBlock model;
+    }
+
+    /**
+     * Builds the models of all variations of the given blocks, if enabled in the config. Blocks until done or until the time budget runs out.
+     */
+    public static void prebake(ModelBakeEvent event, Collection<Block> blocks) {
+        if (!Configurations.prebakeModels) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(Configurations.prebakeBudget);
+        Runtime runtime = Runtime.getRuntime();
+        long memory = runtime.totalMemory() - runtime.freeMemory();
+
+        BlockStateMapper mapper = event.getModelManager().getBlockModelShapes().getBlockStateMapper();
+        List<Variation> variations = new ArrayList<>();
+        for (Block block : blocks) {
+            for (Map.Entry<IBlockState, ModelResourceLocation> e : mapper.getVariants(block).entrySet()) {
+                IBakedModel model = event.getModelRegistry().getObject(e.getValue());
+                if (model instanceof ModelChiselBlock) {
+                    variations.add(new Variation(e.getKey(), (ModelChiselBlock) model));
+                }
+            }
+        }
+
+        int threads = Configurations.prebakeThreads > 0 ? Configurations.prebakeThreads : Math.max(1, runtime.availableProcessors() - 1);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        AtomicInteger baked = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        // Baking more models than the cache can hold would only evict the ones baked first
+        int limit = Configurations.modelCacheSize;
+        int submitted = 0;
+
+        // Tasks are queued in order of importance, so that the most useful models are built if the budget runs out
+        for (Variation v : variations) {
+            if (submitted++ < limit) {
+                pool.execute(() -> bake(v, null, deadline, baked, failed));
+            }
+        }
+        for (Arrangement arrangement : Arrangement.values()) {
+            for (Variation v : variations) {
+                if (submitted++ < limit) {
+                    pool.execute(() -> bake(v, arrangement, deadline, baked, failed));
+                }
+            }
+        }
+
+        pool.shutdown();
+        try {
+            // Tasks which have not started by the deadline return right away, so this only waits for the ones running
+            if (!pool.awaitTermination(Math.max(0, deadline - System.nanoTime()) + TimeUnit.SECONDS.toNanos(5), TimeUnit.NANOSECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        memory = runtime.totalMemory() - runtime.freeMemory() - memory;
+        Chisel.logger.info(String.format("Pre-baked %d of %d models for %d variations in %d ms on %d threads (budget %d ms), heap grew by about %d KB", baked.get(),
+                Math.min(submitted, limit), variations.size(), time, threads, Configurations.prebakeBudget, Math.max(0, memory) / 1024));
+        if (failed.get() > 0) {
+            Chisel.logger.warn(String.format("Failed to pre-bake %d models, they will be built when first rendered", failed.get()));
+        }
+    }
+
+    private static void bake(Variation v, @Nullable Arrangement arrangement, long deadline, AtomicInteger baked, AtomicInteger failed) {
+        if (System.nanoTime() > deadline) {
+            return;
+        }
+        try {
+            if (arrangement == null) {
+                v.model.getItemModel(v.state);
+            } else {
+                IBlockAccess world = new ArrangementAccess(v.state, arrangement);
+                v.model.getModel(v.state.getBlock().getExtendedState(v.state, world, BlockPos.ORIGIN));
+            }
+            baked.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            Chisel.debug("Could not pre-bake model for " + v.state + ": " + e);
+        }
+    }
+}
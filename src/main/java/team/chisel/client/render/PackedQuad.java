@@ -0,0 +1,460 @@
+package team.chisel.client.render;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.client.renderer.vertex.VertexFormatElement;
+import net.minecraft.client.renderer.vertex.VertexFormatElement.EnumType;
+import net.minecraft.client.renderer.vertex.VertexFormatElement.EnumUsage;
+import team.chisel.client.render.ctm.CTM;
+import team.chisel.client.render.ctm.ISubmap;
+
+/**
+ * Transforms quads by working directly on the packed vertex data of a {@link BakedQuad}, without unpacking it into vectors.
+ * <p>
+ * Supports any vertex format with a float position, float texture coordinates, and optionally short lightmap coordinates, all aligned to whole ints. This covers the block and item formats. Quads in
+ * any other format are transformed through {@link Quad} instead, with the same results.
+ * <p>
+ * Unlike {@link Quad}, all operations modify this quad and return it, so that a chain of transforms only ever touches one vertex array.
+ */
+public class PackedQuad {
+
+    /** Lightmap coordinates for full block and sky light */
+    private static final int FULLBRIGHT = (0xF0 << 16) | 0xF0;
+
+    /** Int offsets of the elements of a vertex, for one vertex format */
+    private static class Layout {
+
+        private static final Layout UNSUPPORTED = new Layout(0, -1, -1, -1);
+
+        private final int stride, pos, uv, lightmap;
+
+        private Layout(int stride, int pos, int uv, int lightmap) {
+            this.stride = stride;
+            this.pos = pos;
+            this.uv = uv;
+            this.lightmap = lightmap;
+        }
+
+        private static Layout of(VertexFormat format) {
+            if (format.getNextOffset() % 4 != 0) {
+                return UNSUPPORTED;
+            }
+            int pos = -1, uv = -1, lightmap = -1;
+            for (int i = 0; i < format.getElementCount(); i++) {
+                VertexFormatElement ele = format.getElement(i);
+                int offset = format.getOffset(i);
+                if (ele.getUsage() == EnumUsage.POSITION && ele.getType() == EnumType.FLOAT && ele.getElementCount() == 3 && offset % 4 == 0) {
+                    pos = offset / 4;
+                } else if (ele.getUsage() == EnumUsage.UV && ele.getIndex() == 0 && ele.getType() == EnumType.FLOAT && ele.getElementCount() == 2 && offset % 4 == 0) {
+                    uv = offset / 4;
+                } else if (ele.getUsage() == EnumUsage.UV && ele.getIndex() == 1 && ele.getType() == EnumType.SHORT && ele.getElementCount() == 2 && offset % 4 == 0) {
+                    lightmap = offset / 4;
+                }
+            }
+            return pos < 0 || uv < 0 ? UNSUPPORTED : new Layout(format.getIntegerSize(), pos, uv, lightmap);
+        }
+    }
+
+    private static final Map<VertexFormat, Layout> layouts = new ConcurrentHashMap<>();
+
+    /** The positions, corner order, texture bounds and facing of a quad, everything its subdivided positions depend on */
+    private static final class Geometry {
+
+        private final int[] key;
+        private final int hash;
+
+        private Geometry(int[] key) {
+            this.key = key;
+            this.hash = Arrays.hashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Geometry && Arrays.equals(key, ((Geometry) obj).key);
+        }
+    }
+
+    /** Upper bound on cached geometries, there are only a handful in practice */
+    private static final int MAX_SUBDIVISIONS = 4096;
+    private static final Map<Geometry, int[][]> subdivisions = new ConcurrentHashMap<>();
+
+    public static boolean isSupported(VertexFormat format) {
+        return getLayout(format) != Layout.UNSUPPORTED;
+    }
+
+    private static Layout getLayout(VertexFormat format) {
+        Layout layout = layouts.get(format);
+        if (layout == null) {
+            layout = layouts.computeIfAbsent(format, Layout::of);
+        }
+        return layout;
+    }
+
+    /* Only one of these is used, depending on whether the format is supported */
+    private @Nullable Quad fallback;
+    private @Nullable int[] data;
+
+    private final BakedQuad source;
+    private final Layout layout;
+    /** The sprite the current texture coordinates are relative to */
+    private @Nonnull TextureAtlasSprite sprite;
+
+    private PackedQuad(BakedQuad source, Layout layout, @Nullable int[] data, @Nullable Quad fallback, @Nonnull TextureAtlasSprite sprite) {
+        this.source = source;
+        this.layout = layout;
+        this.data = data;
+        this.fallback = fallback;
+        this.sprite = sprite;
+    }
+
+    public static PackedQuad from(BakedQuad baked) {
+        Layout layout = getLayout(baked.getFormat());
+        TextureAtlasSprite sprite = baked.getSprite();
+        if (sprite == null) {
+            sprite = Quad.getBaseSprite();
+        }
+        if (layout == Layout.UNSUPPORTED) {
+            return new PackedQuad(baked, layout, null, Quad.from(baked), sprite);
+        }
+        return new PackedQuad(baked, layout, baked.getVertexData().clone(), null, sprite).derotate(); // for now we will ignore rotated UVs
+    }
+
+    /* Vertex access */
+
+    private float getU(int vert) {
+        return Float.intBitsToFloat(data[vert * layout.stride + layout.uv]);
+    }
+
+    private float getV(int vert) {
+        return Float.intBitsToFloat(data[vert * layout.stride + layout.uv + 1]);
+    }
+
+    private void setUV(int vert, float u, float v) {
+        data[vert * layout.stride + layout.uv] = Float.floatToRawIntBits(u);
+        data[vert * layout.stride + layout.uv + 1] = Float.floatToRawIntBits(v);
+    }
+
+    private float getMinU() {
+        return Math.min(Math.min(getU(0), getU(1)), Math.min(getU(2), getU(3)));
+    }
+
+    private float getMinV() {
+        return Math.min(Math.min(getV(0), getV(1)), Math.min(getV(2), getV(3)));
+    }
+
+    private float getMaxU() {
+        return Math.max(Math.max(getU(0), getU(1)), Math.max(getU(2), getU(3)));
+    }
+
+    private float getMaxV() {
+        return Math.max(Math.max(getV(0), getV(1)), Math.max(getV(2), getV(3)));
+    }
+
+    private float normalizeU(float u) {
+        return Quad.normalize(sprite.getMinU(), sprite.getMaxU(), u);
+    }
+
+    private float normalizeV(float v) {
+        return Quad.normalize(sprite.getMinV(), sprite.getMaxV(), v);
+    }
+
+    /* Transforms */
+
+    /**
+     * Shifts the texture coordinates so that the first vertex has the minimum U and V.
+     */
+    private PackedQuad derotate() {
+        float minU = getMinU(), minV = getMinV();
+        int start = 0;
+        for (int i = 0; i < 4; i++) {
+            if (getU(i) <= minU && getV(i) <= minV) {
+                start = i;
+                break;
+            }
+        }
+        for (int n = 0; n < start; n++) {
+            float u = getU(0), v = getV(0);
+            for (int i = 0; i < 3; i++) {
+                setUV(i, getU(i + 1), getV(i + 1));
+            }
+            setUV(3, u, v);
+        }
+        return this;
+    }
+
+    public PackedQuad setFullbright(boolean fullbright) {
+        if (fallback != null) {
+            fallback = fallback.setFullbright(fullbright);
+        } else if (fullbright && layout.lightmap >= 0) {
+            for (int i = 0; i < 4; i++) {
+                data[i * layout.stride + layout.lightmap] = FULLBRIGHT;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Rotates the texture coordinates by the given amount of quarter turns.
+     */
+    public PackedQuad rotate(int amount) {
+        if (fallback != null) {
+            fallback = fallback.rotate(amount);
+            return this;
+        }
+        for (int i = 0; i < 4; i++) {
+            float x = normalizeU(getU(i)), y = normalizeV(getV(i));
+            float u, v;
+            switch (amount) {
+            case 1:
+                u = y;
+                v = 1 - x;
+                break;
+            case 2:
+                u = 1 - x;
+                v = 1 - y;
+                break;
+            case 3:
+                u = 1 - y;
+                v = x;
+                break;
+            default:
+                u = x;
+                v = y;
+                break;
+            }
+            setUV(i, Quad.lerp(sprite.getMinU(), sprite.getMaxU(), u), Quad.lerp(sprite.getMinV(), sprite.getMaxV(), v));
+        }
+        return this;
+    }
+
+    public PackedQuad transformUVs(@Nonnull TextureAtlasSprite sprite) {
+        return transformUVs(sprite, CTM.FULL_TEXTURE.normalize());
+    }
+
+    /**
+     * Maps the texture coordinates onto the given submap of the given sprite.
+     */
+    public PackedQuad transformUVs(@Nonnull TextureAtlasSprite sprite, ISubmap submap) {
+        if (fallback != null) {
+            fallback = fallback.transformUVs(sprite, submap);
+            this.sprite = sprite;
+            return this;
+        }
+        submap = submap.normalize();
+
+        float rawMinU = getMinU(), rawMinV = getMinV();
+        float normMinU = normalizeU(rawMinU), normMinV = normalizeV(rawMinV);
+        float normMaxU = normalizeU(getMaxU()), normMaxV = normalizeV(getMaxV());
+
+        float minU = submap.getXOffset() + normMinU * submap.getWidth();
+        float minV = submap.getYOffset() + normMinV * submap.getHeight();
+        float maxU = minU + (normMaxU - normMinU) * submap.getWidth();
+        float maxV = minV + (normMaxV - normMinV) * submap.getHeight();
+
+        for (int i = 0; i < 4; i++) {
+            float u = getU(i) == rawMinU ? minU : maxU;
+            float v = getV(i) == rawMinV ? minV : maxV;
+            setUV(i, Quad.lerp(sprite.getMinU(), sprite.getMaxU(), u), Quad.lerp(sprite.getMinV(), sprite.getMaxV(), v));
+        }
+        this.sprite = sprite;
+        return this;
+    }
+
+    /**
+     * @return The quadrant of the sprite this quad lies in, see {@link Quad.UVs#getQuadrant()}.
+     */
+    public int getQuadrant() {
+        if (fallback != null) {
+            return fallback.getUvs().normalize().getQuadrant();
+        }
+        float maxU = normalizeU(getMaxU()), maxV = normalizeV(getMaxV());
+        if (maxU <= 0.5f) {
+            return maxV <= 0.5f ? 3 : 0;
+        } else {
+            return maxV <= 0.5f ? 2 : 1;
+        }
+    }
+
+    /**
+     * Stretches the texture coordinates of the quadrant this quad lies in to cover the whole sprite.
+     */
+    public PackedQuad grow() {
+        if (fallback != null) {
+            fallback = fallback.grow();
+            return this;
+        }
+        int quadrant = getQuadrant();
+        float minU = quadrant == 1 || quadrant == 2 ? 0.5f : 0;
+        float minV = quadrant < 2 ? 0.5f : 0;
+        float maxU = quadrant == 0 || quadrant == 3 ? 0.5f : 1;
+        float maxV = quadrant > 1 ? 0.5f : 1;
+        for (int i = 0; i < 4; i++) {
+            float u = Quad.normalize(minU, maxU, normalizeU(getU(i)));
+            float v = Quad.normalize(minV, maxV, normalizeV(getV(i)));
+            setUV(i, Quad.lerp(sprite.getMinU(), sprite.getMaxU(), u), Quad.lerp(sprite.getMinV(), sprite.getMaxV(), v));
+        }
+        return this;
+    }
+
+    /**
+     * Splits this quad along the middle of the sprite.
+     *
+     * @return The quads in each quadrant of the sprite, indexed by {@link #getQuadrant() quadrant}, or null where this quad does not cover a quadrant.
+     */
+    public PackedQuad[] subdivide(int count) {
+        PackedQuad[] ret = new PackedQuad[4];
+        if (fallback != null) {
+            for (Quad q : fallback.subdivide(count)) {
+                if (q != null) {
+                    PackedQuad pq = new PackedQuad(source, layout, null, q, sprite);
+                    ret[pq.getQuadrant()] = pq;
+                }
+            }
+            return ret;
+        }
+
+        float rawMinU = getMinU(), rawMinV = getMinV();
+        float minU = normalizeU(rawMinU), minV = normalizeV(rawMinV);
+        float maxU = normalizeU(getMaxU()), maxV = normalizeV(getMaxV());
+
+        int[][] positions = getSubdivision();
+        if (positions == null) {
+            ret[getQuadrant()] = this;
+            return ret;
+        }
+
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            if (positions[quadrant] == null) {
+                continue;
+            }
+            float qMinU = quadrant == 1 || quadrant == 2 ? 0.5f : 0;
+            float qMinV = quadrant < 2 ? 0.5f : 0;
+            float qMaxU = qMinU + 0.5f, qMaxV = qMinV + 0.5f;
+
+            int[] sub = data.clone();
+            for (int i = 0; i < 4; i++) {
+                float u = getU(i) == rawMinU ? Math.max(minU, qMinU) : Math.min(maxU, qMaxU);
+                float v = getV(i) == rawMinV ? Math.max(minV, qMinV) : Math.min(maxV, qMaxV);
+                System.arraycopy(positions[quadrant], i * 3, sub, i * layout.stride + layout.pos, 3);
+                sub[i * layout.stride + layout.uv] = Float.floatToRawIntBits(Quad.lerp(sprite.getMinU(), sprite.getMaxU(), u));
+                sub[i * layout.stride + layout.uv + 1] = Float.floatToRawIntBits(Quad.lerp(sprite.getMinV(), sprite.getMaxV(), v));
+            }
+            ret[quadrant] = new PackedQuad(source, layout, sub, null, sprite);
+        }
+        return ret;
+    }
+
+    /**
+     * Gets the vertex positions of the quads this quad subdivides into, from the cache if this geometry was seen before.
+     *
+     * @return The packed positions of each vertex, indexed by quadrant, or null if this quad can not be subdivided.
+     */
+    private @Nullable int[][] getSubdivision() {
+        float rawMinU = getMinU(), rawMinV = getMinV();
+
+        // Find the vertices at each corner of the texture
+        int c00 = -1, c10 = -1, c01 = -1, c11 = -1;
+        for (int i = 0; i < 4; i++) {
+            boolean lowU = getU(i) == rawMinU, lowV = getV(i) == rawMinV;
+            if (lowU) {
+                if (lowV) {
+                    c00 = i;
+                } else {
+                    c01 = i;
+                }
+            } else {
+                if (lowV) {
+                    c10 = i;
+                } else {
+                    c11 = i;
+                }
+            }
+        }
+        if (c00 < 0 || c10 < 0 || c01 < 0 || c11 < 0) {
+            return null;
+        }
+
+        float minU = normalizeU(rawMinU), minV = normalizeV(rawMinV);
+        float maxU = normalizeU(getMaxU()), maxV = normalizeV(getMaxV());
+
+        int[] key = new int[17];
+        key[0] = c00 | c10 << 2 | c01 << 4 | c11 << 6 | (source.getFace() == null ? 7 : source.getFace().ordinal()) << 8;
+        key[1] = Float.floatToIntBits(minU);
+        key[2] = Float.floatToIntBits(minV);
+        key[3] = Float.floatToIntBits(maxU);
+        key[4] = Float.floatToIntBits(maxV);
+        for (int i = 0; i < 4; i++) {
+            System.arraycopy(data, i * layout.stride + layout.pos, key, 5 + i * 3, 3);
+        }
+        Geometry geometry = new Geometry(key);
+
+        int[][] ret = subdivisions.get(geometry);
+        if (ret == null) {
+            ret = new int[4][];
+            for (int quadrant = 0; quadrant < 4; quadrant++) {
+                float qMinU = quadrant == 1 || quadrant == 2 ? 0.5f : 0;
+                float qMinV = quadrant < 2 ? 0.5f : 0;
+                float qMaxU = qMinU + 0.5f, qMaxV = qMinV + 0.5f;
+                if (minU >= qMaxU || maxU <= qMinU || minV >= qMaxV || maxV <= qMinV) {
+                    continue;
+                }
+
+                int[] positions = ret[quadrant] = new int[12];
+                for (int i = 0; i < 4; i++) {
+                    float u = getU(i) == rawMinU ? Math.max(minU, qMinU) : Math.min(maxU, qMaxU);
+                    float v = getV(i) == rawMinV ? Math.max(minV, qMinV) : Math.min(maxV, qMaxV);
+                    float fu = maxU == minU ? 0 : (u - minU) / (maxU - minU);
+                    float fv = maxV == minV ? 0 : (v - minV) / (maxV - minV);
+                    for (int c = 0; c < 3; c++) {
+                        float p00 = getPos(c00, c), p10 = getPos(c10, c), p01 = getPos(c01, c), p11 = getPos(c11, c);
+                        positions[i * 3 + c] = Float.floatToRawIntBits(Quad.lerp(Quad.lerp(p00, p10, fu), Quad.lerp(p01, p11, fu), fv));
+                    }
+                }
+            }
+            if (subdivisions.size() < MAX_SUBDIVISIONS) {
+                subdivisions.putIfAbsent(geometry, ret);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Computes and caches the subdivision of the given quad ahead of time, so that {@link #subdivide(int)} only has to remap texture coordinates for quads with the same geometry.
+     */
+    public static void precomputeSubdivision(BakedQuad quad) {
+        if (isSupported(quad.getFormat())) {
+            from(quad).getSubdivision();
+        }
+    }
+
+    /**
+     * @return The amount of distinct quad geometries whose subdivision is cached.
+     */
+    public static int getSubdivisionCacheSize() {
+        return subdivisions.size();
+    }
+
+    private float getPos(int vert, int component) {
+        return Float.intBitsToFloat(data[vert * layout.stride + layout.pos + component]);
+    }
+
+    public BakedQuad rebake() {
+        if (fallback != null) {
+            return fallback.rebake();
+        }
+        return new BakedQuad(data.clone(), source.getTintIndex(), source.getFace(), sprite, source.shouldApplyDiffuseLighting(), source.getFormat());
+    }
+}
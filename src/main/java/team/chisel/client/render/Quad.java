@@ -50,7 +50,17 @@ public class Quad {
         Vector2f uvs;
     }
 
-    private static final @Nonnull TextureAtlasSprite BASE = Minecraft.getMinecraft().getTextureMapBlocks().getAtlasSprite(TextureMap.LOCATION_MISSING_TEXTURE.toString());
+    private static TextureAtlasSprite base;
+
+    /**
+     * @return The sprite the texture coordinates of unprocessed quads are relative to. Looked up lazily, so that this class can be loaded without a running client.
+     */
+    static @Nonnull TextureAtlasSprite getBaseSprite() {
+        if (base == null) {
+            base = Minecraft.getMinecraft().getTextureMapBlocks().getAtlasSprite(TextureMap.LOCATION_MISSING_TEXTURE.toString());
+        }
+        return base;
+    }
     
     @ToString
     public class UVs {
@@ -64,7 +74,7 @@ public class Quad {
         private final Vector2f[] data;
         
         private UVs(Vector2f... data) {
-            this(BASE, data);
+            this(getBaseSprite(), data);
         }
         
         private UVs(@Nonnull TextureAtlasSprite sprite, Vector2f... data) {
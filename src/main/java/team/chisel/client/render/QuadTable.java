@@ -0,0 +1,154 @@
+package team.chisel.client.render;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.client.renderer.block.model.BakedQuad;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Precomputed results of a texture transforming a quad, for every layout the texture can give that quad.
+ * <p>
+ * Rows are keyed by the identity of the source quad, which is stable for a baked model. Layouts which produce identical quads share the same list. All returned lists are immutable and shared,
+ * so that rendering a face is a single table lookup.
+ */
+@ParametersAreNonnullByDefault
+public class QuadTable {
+
+    @FunctionalInterface
+    public interface Baker {
+
+        /**
+         * @return The quads for the given source quad in the given layout.
+         */
+        List<BakedQuad> bake(BakedQuad quad, int layout);
+    }
+
+    /** Rough size of a {@link BakedQuad} without its vertex data, in bytes */
+    private static final int QUAD_BYTES = 40;
+    /** Rough size of an {@link ImmutableList} and its backing array without its elements, in bytes */
+    private static final int LIST_BYTES = 32;
+
+    private static final Set<QuadTable> tables = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final int layouts;
+    private final Baker baker;
+
+    private final Map<BakedQuad, List<BakedQuad>[]> rows = new ConcurrentHashMap<>();
+
+    public QuadTable(int layouts, Baker baker) {
+        this.layouts = layouts;
+        this.baker = baker;
+        tables.add(this);
+    }
+
+    /**
+     * @return The quads for the given source quad in the given layout, computing the row of the source quad if it was not {@link #precompute(BakedQuad) precomputed}.
+     */
+    public List<BakedQuad> get(BakedQuad quad, int layout) {
+        return rows.computeIfAbsent(quad, this::bakeRow)[layout];
+    }
+
+    /**
+     * Computes every layout of the given source quad ahead of time.
+     */
+    public void precompute(BakedQuad quad) {
+        rows.computeIfAbsent(quad, this::bakeRow);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BakedQuad>[] bakeRow(BakedQuad quad) {
+        List<BakedQuad>[] row = new List[layouts];
+        for (int layout = 0; layout < layouts; layout++) {
+            List<BakedQuad> quads = ImmutableList.copyOf(baker.bake(quad, layout));
+            for (int i = 0; i < layout; i++) {
+                if (equals(row[i], quads)) {
+                    quads = row[i];
+                    break;
+                }
+            }
+            row[layout] = quads;
+        }
+        return row;
+    }
+
+    private static boolean equals(List<BakedQuad> a, List<BakedQuad> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            BakedQuad q1 = a.get(i), q2 = b.get(i);
+            if (q1.getFace() != q2.getFace() || q1.getTintIndex() != q2.getTintIndex() || q1.getSprite() != q2.getSprite() || !Arrays.equals(q1.getVertexData(), q2.getVertexData())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        rows.clear();
+    }
+
+    /**
+     * @return The amount of distinct quads stored in this table.
+     */
+    public int getQuadCount() {
+        int count = 0;
+        for (List<BakedQuad> quads : distinctLists()) {
+            count += quads.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return The approximate memory used by this table, in bytes.
+     */
+    public long getMemoryUsage() {
+        long bytes = 0;
+        for (List<BakedQuad>[] row : rows.values()) {
+            bytes += 16 + row.length * 4;
+        }
+        for (List<BakedQuad> quads : distinctLists()) {
+            bytes += LIST_BYTES + quads.size() * 4;
+            for (BakedQuad q : quads) {
+                bytes += QUAD_BYTES + 16 + q.getVertexData().length * 4;
+            }
+        }
+        return bytes;
+    }
+
+    private Set<List<BakedQuad>> distinctLists() {
+        Set<List<BakedQuad>> ret = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<BakedQuad>[] row : rows.values()) {
+            ret.addAll(Arrays.asList(row));
+        }
+        return ret;
+    }
+
+    /**
+     * @return The amount of distinct quads stored in all live tables.
+     */
+    public static int getTotalQuadCount() {
+        synchronized (tables) {
+            return tables.stream().mapToInt(QuadTable::getQuadCount).sum();
+        }
+    }
+
+    /**
+     * @return The approximate memory used by all live tables, in bytes.
+     */
+    public static long getTotalMemoryUsage() {
+        synchronized (tables) {
+            return tables.stream().mapToLong(QuadTable::getMemoryUsage).sum();
+        }
+    }
+}
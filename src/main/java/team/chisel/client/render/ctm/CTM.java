@@ -1,21 +1,21 @@
 package team.chisel.client.render.ctm;
 
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
-
-import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import team.chisel.api.IFacade;
-import team.chisel.client.render.ConnectionLocations;
+import team.chisel.client.render.ctx.CTMBlockRenderContext;
+import team.chisel.client.render.ctx.NeighbourhoodSnapshot;
 import team.chisel.common.util.Dir;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Maps;
 
 import static team.chisel.common.util.Dir.*;
 
@@ -105,26 +105,73 @@ public class CTM {
 
 	/** Some hardcoded offset values for the different corner indeces */
 	protected static int[] submapOffsets = { 4, 5, 1, 0 };
+
+	/** Mapping the different corner indeces to their respective dirs */
+	protected static final Dir[][] submapMap = {
+	        { BOTTOM, LEFT, BOTTOM_LEFT },
+	        { BOTTOM, RIGHT, BOTTOM_RIGHT },
+	        { TOP, RIGHT, TOP_RIGHT },
+	        { TOP, LEFT, TOP_LEFT }
+	};
+
+	/**
+	 * The submap indeces for every possible connection mask, indexed by the mask itself. These arrays are shared between all CTM instances, <b>do not modify them</b>.
+	 */
+	private static final int[][] SUBMAP_LOOKUP = new int[256][];
+
+	/** Maps every connection mask to its layout, the index of its distinct submap indeces */
+	private static final int[] LAYOUT_LOOKUP = new int[256];
+	private static final int[][] LAYOUT_SUBMAPS;
+
+	static {
+	    List<int[]> layouts = new ArrayList<>();
+	    for (int mask = 0; mask < SUBMAP_LOOKUP.length; mask++) {
+	        int[] submaps = new int[] { 18, 19, 17, 16 };
+	        for (int i = 0; i < 4; i++) {
+	            fillSubmaps(submaps, i, mask);
+	        }
+	        int layout = 0;
+	        while (layout < layouts.size() && !Arrays.equals(layouts.get(layout), submaps)) {
+	            layout++;
+	        }
+	        if (layout == layouts.size()) {
+	            layouts.add(submaps);
+	        }
+	        SUBMAP_LOOKUP[mask] = layouts.get(layout);
+	        LAYOUT_LOOKUP[mask] = layout;
+	    }
+	    LAYOUT_SUBMAPS = layouts.toArray(new int[layouts.size()][]);
+	}
+
+	/** The {@link NeighbourhoodSnapshot} slots of the connection and obscuring blocks, indexed by face and {@link Dir} */
+	private static final int[][] CONNECTION_SLOTS = new int[EnumFacing.VALUES.length][Dir.VALUES.length];
+	private static final int[][] OBSCURING_SLOTS = new int[EnumFacing.VALUES.length][Dir.VALUES.length];
+
+	static {
+	    for (EnumFacing side : EnumFacing.VALUES) {
+	        for (Dir dir : Dir.VALUES) {
+	            int x = 0, y = 0, z = 0;
+	            for (EnumFacing f : dir.getNormalizedDirs(side)) {
+	                x += f.getFrontOffsetX();
+	                y += f.getFrontOffsetY();
+	                z += f.getFrontOffsetZ();
+	            }
+	            CONNECTION_SLOTS[side.ordinal()][dir.ordinal()] = NeighbourhoodSnapshot.slot(x, y, z);
+	            OBSCURING_SLOTS[side.ordinal()][dir.ordinal()] = NeighbourhoodSnapshot.slot(x + side.getFrontOffsetX(), y + side.getFrontOffsetY(), z + side.getFrontOffsetZ());
+	        }
+	    }
+	}
+
 	/** For use via the Chisel 2 config only, altering this could cause unintended behavior */
 	public static boolean disableObscuredFaceCheckConfig = false;
 
 	public Optional<Boolean> disableObscuredFaceCheck = Optional.absent();
 
-	protected TIntObjectMap<Dir[]> submapMap = new TIntObjectHashMap<Dir[]>();
-	protected EnumMap<Dir, Boolean> connectionMap = Maps.newEnumMap(Dir.class);
-	protected int[] submapCache;
-
-	protected CTM() {
-		for (Dir dir : Dir.VALUES) {
-			connectionMap.put(dir, false);
-		}
+	/** The connections of this face, one bit per {@link Dir}. See {@link Dir#getMask()}. */
+	protected int connectionMask;
+	protected int[] submapCache = SUBMAP_LOOKUP[0];
 
-		// Mapping the different corner indeces to their respective dirs
-		submapMap.put(0, new Dir[] { BOTTOM, LEFT, BOTTOM_LEFT });
-		submapMap.put(1, new Dir[] { BOTTOM, RIGHT, BOTTOM_RIGHT });
-		submapMap.put(2, new Dir[] { TOP, RIGHT, TOP_RIGHT });
-		submapMap.put(3, new Dir[] { TOP, LEFT, TOP_LEFT });
-	}
+	protected CTM() {}
 
 	public static CTM getInstance() {
 		return new CTM();
@@ -134,40 +181,90 @@ public class CTM {
 	 * @return The indeces of the typical 4x4 submap to use for the given face at the given location.
 	 * 
 	 *         Indeces are in counter-clockwise order starting at bottom left.
+	 *         <p>
+	 *         The returned array is shared, <b>do not modify it</b>.
 	 */
     public int[] createSubmapIndices(IBlockAccess world, BlockPos pos, EnumFacing side) {
-		submapCache = new int[] { 18, 19, 17, 16 };
-
 		if (world == null) {
-            return submapCache;
+		    connectionMask = 0;
+		    return submapCache = SUBMAP_LOOKUP[0];
         }
 
 		buildConnectionMap(world, pos, side);
 
-		// Map connections to submap indeces
-		for (int i = 0; i < 4; i++) {
-			fillSubmaps(i);
-		}
+		return submapCache = SUBMAP_LOOKUP[connectionMask];
+	}
+
+	/**
+	 * Same as {@link #createSubmapIndices(IBlockAccess, BlockPos, EnumFacing)}, but reads all blocks through the given snapshot.
+	 */
+	public int[] createSubmapIndices(NeighbourhoodSnapshot snapshot, EnumFacing side) {
+	    buildConnectionMap(snapshot, side);
 
-		return submapCache;
+	    return submapCache = SUBMAP_LOOKUP[connectionMask];
 	}
 
 	public int[] createSubmapIndices(long data, EnumFacing side){
-		submapCache = new int[] { 18, 19, 17, 16 };
-
 		buildConnectionMap(data, side);
 
-		// Map connections to submap indeces
-		for (int i = 0; i < 4; i++) {
-			fillSubmaps(i);
-		}
+		return submapCache = SUBMAP_LOOKUP[connectionMask];
+	}
 
-		return submapCache;
+	/**
+	 * Sets the connections of this face directly from a connection mask, as returned by {@link #getConnections()}.
+	 * 
+	 * @return The submap indeces for the given mask. See {@link #createSubmapIndices(IBlockAccess, BlockPos, EnumFacing)}.
+	 */
+	public int[] createSubmapIndices(int connections) {
+	    connectionMask = connections & 0xFF;
+	    return submapCache = SUBMAP_LOOKUP[connectionMask];
 	}
     
     public int[] getSubmapIndices() {
         return submapCache;
     }
+
+    /**
+     * @return The submap indeces for the given connection mask. The returned array is shared, <b>do not modify it</b>.
+     */
+    public static int[] getSubmapIndices(int connections) {
+        return SUBMAP_LOOKUP[connections & 0xFF];
+    }
+
+    /**
+     * @return The layout of this face. Masks which result in the same submap indeces share a layout, see {@link #getLayout(int)}.
+     */
+    public int getLayout() {
+        return LAYOUT_LOOKUP[connectionMask];
+    }
+
+    /**
+     * @return The layout for the given connection mask, a number between 0 (inclusive) and {@link #getLayoutCount()} (exclusive). Masks which result in the same submap indeces share a layout.
+     */
+    public static int getLayout(int connections) {
+        return LAYOUT_LOOKUP[connections & 0xFF];
+    }
+
+    /**
+     * @return The amount of distinct layouts a CTM face can have.
+     */
+    public static int getLayoutCount() {
+        return LAYOUT_SUBMAPS.length;
+    }
+
+    /**
+     * @return The submap indeces for the given layout. The returned array is shared, <b>do not modify it</b>.
+     */
+    public static int[] getLayoutSubmapIndices(int layout) {
+        return LAYOUT_SUBMAPS[layout];
+    }
+
+    /**
+     * @return The connections of this face as an 8-bit mask, one bit per {@link Dir}.
+     */
+    public int getConnections() {
+        return connectionMask;
+    }
 	
     public static boolean isDefaultTexture(int id) {
         return (id == 16 || id == 17 || id == 18 || id == 19);
@@ -178,36 +275,57 @@ public class CTM {
      */
     public void buildConnectionMap(IBlockAccess world, BlockPos pos, EnumFacing side) {
         IBlockState state = world.getBlockState(pos);
+        int mask = 0;
+        for (Dir dir : Dir.VALUES) {
+            if (dir.isConnected(this, world, pos, side, state)) {
+                mask |= dir.getMask();
+            }
+        }
+        connectionMask = mask;
+    }
+
+    /**
+     * Builds the connection map from the given snapshot, without any further world access.
+     */
+    public void buildConnectionMap(NeighbourhoodSnapshot snapshot, EnumFacing side) {
+        IBlockState state = snapshot.getState(NeighbourhoodSnapshot.CENTER);
+        boolean disableObscured = disableObscuredFaceCheck.or(disableObscuredFaceCheckConfig);
+        int[] connections = CONNECTION_SLOTS[side.ordinal()];
+        int[] obscuring = OBSCURING_SLOTS[side.ordinal()];
+        int mask = 0;
         for (Dir dir : Dir.VALUES) {
-            connectionMap.put(dir, dir.isConnected(this, world, pos, side, state));
+            IBlockState con = snapshot.getStateOrFacade(connections[dir.ordinal()], side);
+            IBlockState obscuringState = disableObscured ? null : snapshot.getStateOrFacade(obscuring[dir.ordinal()], side);
+            if (isConnected(state, con, obscuringState)) {
+                mask |= dir.getMask();
+            }
         }
+        connectionMask = mask;
     }
 
+	/**
+	 * Builds the connection map from a packed CTM signature, as created by {@link CTMBlockRenderContext#getCompressedData()}. The signature holds the 8-bit connection mask of each face, in
+	 * {@link EnumFacing} order.
+	 */
 	public void buildConnectionMap(long data, EnumFacing side){
-		for (Dir dir : Dir.VALUES){
-			connectionMap.put(dir, false);
-		}
-		List<ConnectionLocations> connections = ConnectionLocations.decode(data);
-		for (ConnectionLocations loc : connections){
-			if (loc.getDirForSide(side) != null){
-				connectionMap.put(loc.getDirForSide(side), true);
-			}
-		}
+		connectionMask = (int) (data >>> (side.ordinal() * 8)) & 0xFF;
 	}
 
-	private void fillSubmaps(int idx) {
-		Dir[] dirs = submapMap.get(idx);
-		if (connectedOr(dirs[0], dirs[1])) {
-			if (connectedAnd(dirs)) {
+	private static void fillSubmaps(int[] submaps, int idx, int mask) {
+		Dir[] dirs = submapMap[idx];
+		boolean first = (mask & dirs[0].getMask()) != 0;
+		boolean second = (mask & dirs[1].getMask()) != 0;
+		if (first || second) {
+			if (first && second && (mask & dirs[2].getMask()) != 0) {
 				// If all dirs are connected, we use the fully connected face,
 				// the base offset value.
-			    submapCache[idx] = submapOffsets[idx];
+			    submaps[idx] = submapOffsets[idx];
 			} else {
 				// This is a bit magic-y, but basically the array is ordered so
 				// the first dir requires an offset of 2, and the second dir
 				// requires an offset of 8, plus the initial offset for the
 				// corner.
-			    submapCache[idx] = submapOffsets[idx] + (connected(dirs[0]) ? 2 : 0) + (connected(dirs[1]) ? 8 : 0);
+			    submaps[idx] = submapOffsets[idx] + (first ? 2 : 0) + (second ? 8 : 0);
 			}
 		}
 	}
@@ -218,7 +336,7 @@ public class CTM {
 	 * @return True if the cached connectionMap holds a connection in this {@link Dir direction}.
 	 */
 	public boolean connected(Dir dir) {
-		return connectionMap.get(dir);
+		return (connectionMask & dir.getMask()) != 0;
 	}
 
 	/**
@@ -294,6 +412,21 @@ public class CTM {
         IBlockState con = getBlockOrFacade(world, connection, dir);
         IBlockState obscuring = disableObscured ? null : getBlockOrFacade(world, pos2, dir);
 
+        return isConnected(state, con, obscuring);
+    }
+
+    /**
+     * The connection logic shared by all ways of looking up the blocks involved.
+     * 
+     * @param state
+     *            The state to check against for connection.
+     * @param con
+     *            The state at the connection position.
+     * @param obscuring
+     *            The state in front of the connection position, or null to skip the obscured face check.
+     * @return True if the given states connect.
+     */
+    protected boolean isConnected(IBlockState state, @Nullable IBlockState con, @Nullable IBlockState obscuring) {
         // no block or a bad API user
         if (con == null) {
             return false;
@@ -2,32 +2,40 @@ package team.chisel.client.render.ctx;
 
 import java.util.EnumMap;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import team.chisel.api.render.IBlockRenderContext;
-import team.chisel.client.render.ConnectionLocations;
 import team.chisel.client.render.ctm.CTM;
 
-import static team.chisel.client.render.ConnectionLocations.*;
-
+/**
+ * Render context for CTM based render types.
+ * <p>
+ * The compressed data holds the 8-bit {@link CTM#getConnections() connection mask} of every face, with {@link EnumFacing#DOWN} in the lowest byte, in {@link EnumFacing} order. Only the low 48 bits
+ * are used.
+ */
 public class CTMBlockRenderContext implements IBlockRenderContext {
 
-    private static final ConnectionLocations[] CACHED_LOCATIONS = ArrayUtils.removeElements(ConnectionLocations.VALUES, UP_UP, DOWN_DOWN, EAST_EAST, WEST_WEST, NORTH_NORTH, SOUTH_SOUTH);
-    
     private EnumMap<EnumFacing, CTM> ctmData = new EnumMap<>(EnumFacing.class);
 
     private long data;
 
     public CTMBlockRenderContext(IBlockAccess world, BlockPos pos) {
+        this(NeighbourhoodSnapshot.of(world, pos));
+    }
+
+    /**
+     * Builds the connections of all six faces and the compressed data from a single snapshot of the surrounding blocks.
+     */
+    public CTMBlockRenderContext(NeighbourhoodSnapshot snapshot) {
+        long data = 0;
         for (EnumFacing face : EnumFacing.VALUES) {
             CTM ctm = createCTM();
-            ctm.createSubmapIndices(world, pos, face);
+            ctm.createSubmapIndices(snapshot, face);
             ctmData.put(face, ctm);
+            data |= (long) ctm.getConnections() << (face.ordinal() * 8);
         }
-        this.data = ConnectionLocations.getData(world, pos, CACHED_LOCATIONS);
+        this.data = data;
     }
 
     public CTMBlockRenderContext(long data){
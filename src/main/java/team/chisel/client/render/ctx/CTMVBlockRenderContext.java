@@ -4,6 +4,8 @@ import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
@@ -12,24 +14,17 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import team.chisel.api.render.IBlockRenderContext;
-import team.chisel.client.render.ConnectionLocations;
-
-import com.google.common.collect.ObjectArrays;
-
-import static team.chisel.client.render.ConnectionLocations.*;
 
+/**
+ * Render context for CTMV.
+ * <p>
+ * The compressed data is made of seven 6-bit {@link Connections#toBits() connection masks}. The lowest 6 bits are the connections of the block itself, followed by the connections of the neighbour
+ * on each side, in {@link EnumFacing} order. Only the low 42 bits are used.
+ */
 public class CTMVBlockRenderContext implements IBlockRenderContext {
 
-    private static final ConnectionLocations[] MAIN_VALUES = { UP, DOWN, NORTH, SOUTH, EAST, WEST };
-    private static final ConnectionLocations[] OFFSET_VALUES = ArrayUtils.removeElements(ConnectionLocations.VALUES, ObjectArrays.concat(
-            new ConnectionLocations[] { NORTH_EAST_UP, NORTH_EAST_DOWN, NORTH_WEST_UP, NORTH_WEST_DOWN, SOUTH_WEST_UP, SOUTH_WEST_DOWN, SOUTH_EAST_UP, SOUTH_EAST_DOWN, },
-            MAIN_VALUES,
-            ConnectionLocations.class
-    ));
-    private static final ConnectionLocations[] ALL_VALUES = ObjectArrays.concat(MAIN_VALUES, OFFSET_VALUES, ConnectionLocations.class);
+    private static final int BITS = EnumFacing.VALUES.length;
 
     @AllArgsConstructor
     @Getter
@@ -65,22 +60,29 @@ public class CTMVBlockRenderContext implements IBlockRenderContext {
             return forPos(world, state, pos);
         }
 
-        public static Connections forData(long data, EnumFacing offset) {
+        /**
+         * @return These connections as a 6-bit mask, one bit per {@link EnumFacing}.
+         */
+        public int toBits() {
+            int bits = 0;
+            for (EnumFacing f : connections) {
+                bits |= 1 << f.ordinal();
+            }
+            return bits;
+        }
+
+        /**
+         * Reads connections from compressed data.
+         * 
+         * @param offset
+         *            The side of the neighbour to read the connections of, or null for the center block.
+         */
+        public static Connections forData(long data, @Nullable EnumFacing offset) {
+            int shift = offset == null ? 0 : (offset.ordinal() + 1) * BITS;
             EnumSet<EnumFacing> connections = EnumSet.noneOf(EnumFacing.class);
-            if (offset == null) {
-                for (ConnectionLocations loc : MAIN_VALUES) {
-                    if ((data & loc.getMask()) != 0) {
-                        connections.add(ConnectionLocations.toFacing(loc));
-                    }
-                }
-            } else {
-                for (ConnectionLocations loc : OFFSET_VALUES) {
-                    if ((data & loc.getMask()) != 0) {
-                        EnumFacing facing = loc.clipOrDestroy(offset);
-                        if (facing != null) {
-                            connections.add(facing);
-                        }
-                    }
+            for (EnumFacing f : EnumFacing.VALUES) {
+                if (((data >>> (shift + f.ordinal())) & 1) != 0) {
+                    connections.add(f);
                 }
             }
             return new Connections(connections);
@@ -98,6 +100,21 @@ public class CTMVBlockRenderContext implements IBlockRenderContext {
             }
             return new Connections(connections);
         }
+
+        /**
+         * Same as {@link #forPos(IBlockAccess, IBlockState, BlockPos)}, for the position at the given offset from the center of the snapshot.
+         */
+        public static Connections forOffset(NeighbourhoodSnapshot snapshot, IBlockState baseState, int x, int y, int z) {
+            EnumSet<EnumFacing> connections = EnumSet.noneOf(EnumFacing.class);
+            if (snapshot.getState(NeighbourhoodSnapshot.slot(x, y, z)) == baseState) {
+                for (EnumFacing f : EnumFacing.VALUES) {
+                    if (snapshot.getState(NeighbourhoodSnapshot.slot(x + f.getFrontOffsetX(), y + f.getFrontOffsetY(), z + f.getFrontOffsetZ())) == baseState) {
+                        connections.add(f);
+                    }
+                }
+            }
+            return new Connections(connections);
+        }
     }
 
     @ToString
@@ -108,10 +125,14 @@ public class CTMVBlockRenderContext implements IBlockRenderContext {
         private Map<EnumFacing, Connections> connectionConnections = new EnumMap<>(EnumFacing.class);
 
         public ConnectionData(IBlockAccess world, BlockPos pos) {
-            connections = Connections.forPos(world, pos);
-            IBlockState state = world.getBlockState(pos);
+            this(NeighbourhoodSnapshot.of(world, pos));
+        }
+
+        public ConnectionData(NeighbourhoodSnapshot snapshot) {
+            IBlockState state = snapshot.getState(NeighbourhoodSnapshot.CENTER);
+            connections = Connections.forOffset(snapshot, state, 0, 0, 0);
             for (EnumFacing f : EnumFacing.VALUES) {
-                connectionConnections.put(f, Connections.forPos(world, state, pos.offset(f)));
+                connectionConnections.put(f, Connections.forOffset(snapshot, state, f.getFrontOffsetX(), f.getFrontOffsetY(), f.getFrontOffsetZ()));
             }
         }
 
@@ -125,6 +146,17 @@ public class CTMVBlockRenderContext implements IBlockRenderContext {
         public Connections getConnections(EnumFacing facing) {
             return connectionConnections.get(facing);
         }
+
+        /**
+         * @return This connection data in the compressed format described in {@link CTMVBlockRenderContext}.
+         */
+        public long toData() {
+            long data = connections.toBits();
+            for (EnumFacing f : EnumFacing.VALUES) {
+                data |= (long) getConnections(f).toBits() << ((f.ordinal() + 1) * BITS);
+            }
+            return data;
+        }
     }
 
     @Getter
@@ -133,18 +165,20 @@ public class CTMVBlockRenderContext implements IBlockRenderContext {
     private long compressedData;
     
     public CTMVBlockRenderContext(IBlockAccess world, BlockPos pos) {
-        data = new ConnectionData(world, pos);
+        this(NeighbourhoodSnapshot.of(world, pos));
+    }
 
-        IBlockState state = world.getBlockState(pos);
-        for (ConnectionLocations loc : ALL_VALUES) {
-            if (state == world.getBlockState(loc.transform(pos))){
-                compressedData = compressedData | loc.getMask();
-            }
-        }
+    /**
+     * Builds the connection data and the compressed data from a single snapshot of the surrounding blocks.
+     */
+    public CTMVBlockRenderContext(NeighbourhoodSnapshot snapshot) {
+        data = new ConnectionData(snapshot);
+        compressedData = data.toData();
     }
 
     public CTMVBlockRenderContext(long data){
         this.data = new ConnectionData(data);
+        this.compressedData = data;
     }
 
     @Override
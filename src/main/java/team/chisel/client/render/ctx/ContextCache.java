@@ -0,0 +1,318 @@
+package team.chisel.client.render.ctx;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkCache;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import team.chisel.api.render.IBlockRenderContext;
+import team.chisel.api.render.IBlockRenderType;
+import team.chisel.common.config.Configurations;
+import team.chisel.common.init.TextureTypeRegistry;
+
+/**
+ * Client side cache of render context data, so that chunk re-renders which did not change anything near a block do not have to recompute its connections.
+ * <p>
+ * The compressed data of every {@link IBlockRenderType#isContextCacheable() cacheable} context is stored per chunk section, in one primitive array per render type slot. Entries are invalidated when a
+ * block within reach of a {@link NeighbourhoodSnapshot} changes, and whole sections are dropped when their chunk unloads.
+ */
+@ParametersAreNonnullByDefault
+public enum ContextCache implements IWorldEventListener {
+
+    INSTANCE;
+
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final int VALID_WORDS = SECTION_VOLUME / 64;
+    /** The size of one {@link Plane}, not counting object headers */
+    private static final long PLANE_BYTES = (SECTION_VOLUME + VALID_WORDS) * 8L;
+
+    /** All positions whose snapshot can see a block at the origin */
+    private static final BlockPos[] REACH = new BlockPos[NeighbourhoodSnapshot.SLOTS];
+    static {
+        for (int i = 0; i < REACH.length; i++) {
+            BlockPos offset = NeighbourhoodSnapshot.getOffset(i);
+            REACH[i] = new BlockPos(-offset.getX(), -offset.getY(), -offset.getZ());
+        }
+    }
+    private static final int RANGE = 2;
+
+    private static class Plane {
+
+        private final long[] data = new long[SECTION_VOLUME];
+        private final long[] valid = new long[VALID_WORDS];
+
+        boolean isValid(int idx) {
+            return (valid[idx >> 6] & (1L << idx)) != 0;
+        }
+
+        void put(int idx, long value) {
+            data[idx] = value;
+            valid[idx >> 6] |= 1L << idx;
+        }
+
+        void invalidate(int idx) {
+            valid[idx >> 6] &= ~(1L << idx);
+        }
+    }
+
+    private static class Section {
+
+        private Plane[] planes = new Plane[0];
+        /** Incremented on every invalidation, so that data computed while a block changed is not stored */
+        private int version;
+    }
+
+    private final Map<Long, Section> sections = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final AtomicInteger planeCount = new AtomicInteger();
+
+    private @Nullable World world;
+
+    /**
+     * Gets the render context of the given type, from the cache if possible.
+     * <p>
+     * Only lookups made during chunk rendering in the world this cache is listening to are cached. Misses are computed from the given render cache, as chunk render threads must never read the live
+     * world. Data computed while a block within reach changed is not stored.
+     */
+    public @Nullable IBlockRenderContext getBlockRenderContext(IBlockRenderType type, IBlockAccess access, BlockPos pos) {
+        World world = this.world;
+        if (!type.isContextCacheable() || world == null || !Configurations.contextCache || !isRenderCacheOf(access, world)) {
+            return type.getBlockRenderContext(access, pos);
+        }
+
+        Section section = sections.computeIfAbsent(sectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4), k -> new Section());
+        int typeIdx = TextureTypeRegistry.getSlot(type);
+        int idx = index(pos.getX(), pos.getY(), pos.getZ());
+        int version;
+        synchronized (section) {
+            Plane plane = typeIdx < section.planes.length ? section.planes[typeIdx] : null;
+            if (plane != null && plane.isValid(idx)) {
+                hits.increment();
+                return type.getContextFromData(plane.data[idx]);
+            }
+            version = section.version;
+        }
+
+        misses.increment();
+        IBlockRenderContext ctx = type.getBlockRenderContext(NeighbourhoodSnapshot.of(access, pos), pos);
+        if (ctx != null) {
+            synchronized (section) {
+                if (section.version == version) {
+                    if (typeIdx >= section.planes.length) {
+                        Plane[] planes = new Plane[typeIdx + 1];
+                        System.arraycopy(section.planes, 0, planes, 0, section.planes.length);
+                        section.planes = planes;
+                    }
+                    Plane plane = section.planes[typeIdx];
+                    if (plane == null) {
+                        plane = section.planes[typeIdx] = new Plane();
+                        planeCount.incrementAndGet();
+                    }
+                    plane.put(idx, ctx.getCompressedData());
+                }
+            }
+        }
+        return ctx;
+    }
+
+    private static boolean isRenderCacheOf(IBlockAccess access, World world) {
+        if (access instanceof NeighbourhoodSnapshot) {
+            access = ((NeighbourhoodSnapshot) access).getWorld();
+        }
+        return access instanceof ChunkCache && ((ChunkCache) access).worldObj == world;
+    }
+
+    private static long sectionKey(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 34) | ((z & 0x3FFFFFFL) << 8) | (y & 0xFFL);
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * Invalidates every position whose connections can depend on the given position.
+     */
+    public void invalidate(BlockPos pos) {
+        invalidations.increment();
+        for (BlockPos offset : REACH) {
+            int x = pos.getX() + offset.getX(), y = pos.getY() + offset.getY(), z = pos.getZ() + offset.getZ();
+            Section section = sections.get(sectionKey(x >> 4, y >> 4, z >> 4));
+            if (section != null) {
+                synchronized (section) {
+                    section.version++;
+                    for (Plane plane : section.planes) {
+                        if (plane != null) {
+                            plane.invalidate(index(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates every position whose connections can depend on a position in the given range.
+     */
+    public void invalidate(int x1, int y1, int z1, int x2, int y2, int z2) {
+        invalidations.increment();
+        x1 -= RANGE; y1 -= RANGE; z1 -= RANGE;
+        x2 += RANGE; y2 += RANGE; z2 += RANGE;
+        for (int sx = x1 >> 4; sx <= x2 >> 4; sx++) {
+            for (int sy = Math.max(0, y1 >> 4); sy <= Math.min(15, y2 >> 4); sy++) {
+                for (int sz = z1 >> 4; sz <= z2 >> 4; sz++) {
+                    Section section = sections.get(sectionKey(sx, sy, sz));
+                    if (section == null) {
+                        continue;
+                    }
+                    synchronized (section) {
+                        section.version++;
+                        for (Plane plane : section.planes) {
+                            if (plane == null) {
+                                continue;
+                            }
+                            for (int x = Math.max(x1, sx << 4); x <= Math.min(x2, (sx << 4) + 15); x++) {
+                                for (int y = Math.max(y1, sy << 4); y <= Math.min(y2, (sy << 4) + 15); y++) {
+                                    for (int z = Math.max(z1, sz << 4); z <= Math.min(z2, (sz << 4) + 15); z++) {
+                                        plane.invalidate(index(x, y, z));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        sections.clear();
+        planeCount.set(0);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * @return The approximate memory used by the cached data, in bytes.
+     */
+    public long getMemoryUsage() {
+        return planeCount.get() * PLANE_BYTES;
+    }
+
+    /* Event handling */
+
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        if (event.getWorld().isRemote) {
+            clear();
+            world = event.getWorld();
+            world.addEventListener(this);
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld() == world) {
+            world.removeEventListener(this);
+            world = null;
+            clear();
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld() == world) {
+            for (int y = 0; y < 16; y++) {
+                Section section = sections.remove(sectionKey(event.getChunk().xPosition, y, event.getChunk().zPosition));
+                if (section != null) {
+                    for (Plane plane : section.planes) {
+                        if (plane != null) {
+                            planeCount.decrementAndGet();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /* IWorldEventListener */
+
+    @Override
+    public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        // Also when the state is the same, as tile entity and facade changes re-render this way
+        invalidate(pos);
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+        invalidate(x1, y1, z1, x2, y2, z2);
+    }
+
+    @Override
+    public void notifyLightSet(BlockPos pos) {
+        // Lighting never changes connections
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+
+    @Override
+    public void playRecord(SoundEvent soundIn, BlockPos pos) {}
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+    @Override
+    public void onEntityAdded(Entity entityIn) {}
+
+    @Override
+    public void onEntityRemoved(Entity entityIn) {}
+
+    @Override
+    public void broadcastSound(int soundID, BlockPos pos, int data) {}
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {}
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+}
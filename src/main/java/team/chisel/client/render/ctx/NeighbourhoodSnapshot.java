@@ -0,0 +1,202 @@
+package team.chisel.client.render.ctx;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import lombok.Getter;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import team.chisel.api.IFacade;
+import team.chisel.client.render.ConnectionLocations;
+
+/**
+ * A snapshot of the blocks around a position, used to build all render contexts of a block from a single pass over the world.
+ * <p>
+ * Covers the 3x3x3 cube around the center, plus the positions two blocks away that {@link ConnectionLocations} can reach. Each position is read from the backing world at most once, the first time
+ * it is requested. Any other position is passed straight through to the backing world.
+ */
+@ParametersAreNonnullByDefault
+public class NeighbourhoodSnapshot implements IBlockAccess {
+
+    private static final int RADIUS = 2;
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    /** Maps an offset in the 5x5x5 cube around the center to its slot, or -1 if it is not part of the snapshot */
+    private static final int[] SLOT_LOOKUP = new int[SIZE * SIZE * SIZE];
+    private static final int[] SLOT_X, SLOT_Y, SLOT_Z;
+    private static final int[] LOCATION_SLOTS = new int[ConnectionLocations.VALUES.length];
+
+    public static final int SLOTS;
+    public static final int CENTER;
+
+    static {
+        Arrays.fill(SLOT_LOOKUP, -1);
+        int[] x = new int[SLOT_LOOKUP.length], y = new int[SLOT_LOOKUP.length], z = new int[SLOT_LOOKUP.length];
+        int slots = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    slots = addSlot(dx, dy, dz, slots, x, y, z);
+                }
+            }
+        }
+        for (EnumFacing face : EnumFacing.VALUES) {
+            slots = addSlot(face.getFrontOffsetX() * 2, face.getFrontOffsetY() * 2, face.getFrontOffsetZ() * 2, slots, x, y, z);
+        }
+        for (ConnectionLocations loc : ConnectionLocations.VALUES) {
+            BlockPos offset = loc.transform(BlockPos.ORIGIN);
+            slots = addSlot(offset.getX(), offset.getY(), offset.getZ(), slots, x, y, z);
+            LOCATION_SLOTS[loc.ordinal()] = slot(offset.getX(), offset.getY(), offset.getZ());
+        }
+        SLOT_X = Arrays.copyOf(x, slots);
+        SLOT_Y = Arrays.copyOf(y, slots);
+        SLOT_Z = Arrays.copyOf(z, slots);
+        SLOTS = slots;
+        CENTER = slot(0, 0, 0);
+    }
+
+    private static int addSlot(int dx, int dy, int dz, int slots, int[] x, int[] y, int[] z) {
+        int idx = index(dx, dy, dz);
+        if (SLOT_LOOKUP[idx] < 0) {
+            SLOT_LOOKUP[idx] = slots;
+            x[slots] = dx;
+            y[slots] = dy;
+            z[slots] = dz;
+            return slots + 1;
+        }
+        return slots;
+    }
+
+    private static int index(int dx, int dy, int dz) {
+        return ((dx + RADIUS) * SIZE + (dy + RADIUS)) * SIZE + (dz + RADIUS);
+    }
+
+    /**
+     * @return The slot for the given offset from the center, or -1 if this offset is not part of the snapshot.
+     */
+    public static int slot(int dx, int dy, int dz) {
+        if (Math.abs(dx) > RADIUS || Math.abs(dy) > RADIUS || Math.abs(dz) > RADIUS) {
+            return -1;
+        }
+        return SLOT_LOOKUP[index(dx, dy, dz)];
+    }
+
+    /**
+     * @return The slot of the position the given {@link ConnectionLocations} points to.
+     */
+    public static int slot(ConnectionLocations loc) {
+        return LOCATION_SLOTS[loc.ordinal()];
+    }
+
+    /**
+     * @return The offset of the given slot from the center.
+     */
+    public static BlockPos getOffset(int slot) {
+        return new BlockPos(SLOT_X[slot], SLOT_Y[slot], SLOT_Z[slot]);
+    }
+
+    /**
+     * Returns the given world if it is already a snapshot around the given position, otherwise creates a new snapshot.
+     */
+    public static NeighbourhoodSnapshot of(IBlockAccess world, BlockPos pos) {
+        if (world instanceof NeighbourhoodSnapshot && ((NeighbourhoodSnapshot) world).getPos().equals(pos)) {
+            return (NeighbourhoodSnapshot) world;
+        }
+        return new NeighbourhoodSnapshot(world, pos);
+    }
+
+    @Getter
+    private final IBlockAccess world;
+    @Getter
+    private final BlockPos pos;
+
+    private final IBlockState[] states = new IBlockState[SLOTS];
+
+    public NeighbourhoodSnapshot(IBlockAccess world, BlockPos pos) {
+        this.world = world instanceof NeighbourhoodSnapshot ? ((NeighbourhoodSnapshot) world).getWorld() : world;
+        this.pos = pos;
+    }
+
+    /**
+     * @return The state in the given slot, reading it from the world if this is the first access.
+     */
+    public IBlockState getState(int slot) {
+        IBlockState state = states[slot];
+        if (state == null) {
+            state = states[slot] = world.getBlockState(getPos(slot));
+        }
+        return state;
+    }
+
+    /**
+     * @return The state in the given slot, or the state it appears as if it is an {@link IFacade}.
+     */
+    public IBlockState getStateOrFacade(int slot, @Nullable EnumFacing side) {
+        IBlockState state = getState(slot);
+        if (state.getBlock() instanceof IFacade) {
+            return ((IFacade) state.getBlock()).getFacade(world, getPos(slot), side);
+        }
+        return state;
+    }
+
+    /**
+     * @return The absolute position of the given slot.
+     */
+    public BlockPos getPos(int slot) {
+        return pos.add(SLOT_X[slot], SLOT_Y[slot], SLOT_Z[slot]);
+    }
+
+    @Override
+    public IBlockState getBlockState(BlockPos pos) {
+        int slot = slot(pos.getX() - this.pos.getX(), pos.getY() - this.pos.getY(), pos.getZ() - this.pos.getZ());
+        return slot < 0 ? world.getBlockState(pos) : getState(slot);
+    }
+
+    @Override
+    public @Nullable TileEntity getTileEntity(BlockPos pos) {
+        return world.getTileEntity(pos);
+    }
+
+    @Override
+    public int getCombinedLight(BlockPos pos, int lightValue) {
+        return world.getCombinedLight(pos, lightValue);
+    }
+
+    @Override
+    public boolean isAirBlock(BlockPos pos) {
+        IBlockState state = getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos) {
+        return world.getBiome(pos);
+    }
+
+    // @Override 1.9 only. Not actually ever called, just here for compilation.
+    public boolean extendedLevelsInChunkCache() {
+        return false;
+    }
+
+    @Override
+    public int getStrongPower(BlockPos pos, EnumFacing direction) {
+        return world.getStrongPower(pos, direction);
+    }
+
+    @Override
+    public WorldType getWorldType() {
+        return world.getWorldType();
+    }
+
+    @Override
+    public boolean isSideSolid(BlockPos pos, EnumFacing side, boolean _default) {
+        return world.isSideSolid(pos, side, _default);
+    }
+}
@@ -2,32 +2,35 @@ package team.chisel.client.render.texture;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.Quad;
 import team.chisel.client.render.ctm.ISubmap;
 import team.chisel.client.render.ctx.BlockRenderContextPosition;
 import team.chisel.client.render.type.BlockRenderTypeAlterR;
 
-import static team.chisel.client.ClientUtil.rand;
-
 public class ChiselTextureAlterR extends AbstractChiselTexture<BlockRenderTypeAlterR> {
 
+    /** Reseeded from the block position for every quad. A field shared by all chunk render threads would let them reseed it under each other. */
+    private static final ThreadLocal<Random> random = ThreadLocal.withInitial(Random::new);
+
     public ChiselTextureAlterR(BlockRenderTypeAlterR type, TextureInfo info) {
         super(type, info);
     }
 
     @Override
     public List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal) {
-        Quad q = Quad.from(quad).setFullbright(fullbright);
         ISubmap outputQuad;
         int num = 0;
 
         BlockPos pos = context == null ? new BlockPos(0, 0, 0) : ((BlockRenderContextPosition) context).getPosition();
+        Random rand = random.get();
         rand.setSeed(MathHelper.getPositionRandom(pos));
         rand.nextBoolean();
 
@@ -81,6 +84,6 @@ public class ChiselTextureAlterR extends AbstractChiselTexture<BlockRenderTypeAl
                 break;
         }
 
-        return Collections.singletonList(Quad.from(quad).transformUVs(sprites[0].getSprite(), outputQuad).setFullbright(fullbright).rebake());
+        return Collections.singletonList(PackedQuad.from(quad).transformUVs(sprites[0].getSprite(), outputQuad).setFullbright(fullbright).rebake());
     }
 }
@@ -9,35 +9,51 @@ import java.util.stream.Collectors;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
-import team.chisel.client.render.Quad;
+import team.chisel.client.render.PackedQuad;
+import team.chisel.client.render.QuadTable;
 import team.chisel.client.render.ctm.CTM;
 import team.chisel.client.render.ctx.CTMBlockRenderContext;
 import team.chisel.client.render.type.BlockRenderTypeCTM;
 
 public class ChiselTextureCTM extends AbstractChiselTexture<BlockRenderTypeCTM> {
 
+    /** Layouts are the CTM layouts, plus one for quads without a context */
+    private final QuadTable table = new QuadTable(CTM.getLayoutCount() + 1, this::bakeQuad);
+
     public ChiselTextureCTM(BlockRenderTypeCTM type, TextureInfo info) {
         super(type, info);
     }
 
     @Override
     public List<BakedQuad> transformQuad(BakedQuad bq, IBlockRenderContext context, int quadGoal) {
-        Quad quad = Quad.from(bq).setFullbright(fullbright);
         if (context == null) {
+            return table.get(bq, CTM.getLayoutCount());
+        }
+        return table.get(bq, ((CTMBlockRenderContext) context).getCTM(bq.getFace()).getLayout());
+    }
+
+    @Override
+    public void precomputeQuad(BakedQuad quad) {
+        table.precompute(quad);
+    }
+
+    private List<BakedQuad> bakeQuad(BakedQuad bq, int layout) {
+        PackedQuad quad = PackedQuad.from(bq).setFullbright(fullbright);
+        if (layout == CTM.getLayoutCount()) {
             return Collections.singletonList(quad.transformUVs(sprites[0].getSprite()).rebake());
         }
 
-        Quad[] quads = quad.subdivide(4);
+        PackedQuad[] quads = quad.subdivide(4);
         
-        int[] ctm = ((CTMBlockRenderContext)context).getCTM(bq.getFace()).getSubmapIndices();
+        int[] ctm = CTM.getLayoutSubmapIndices(layout);
         
         for (int i = 0; i < quads.length; i++) {
-            Quad q = quads[i];
+            PackedQuad q = quads[i];
             if (q != null) {
-                int ctmid = q.getUvs().normalize().getQuadrant();
+                int ctmid = q.getQuadrant();
                 quads[i] = q.grow().transformUVs(sprites[ctm[ctmid] > 15 ? 0 : 1].getSprite(), CTM.uvs[ctm[ctmid]].normalize());
             }
         }
-        return Arrays.stream(quads).filter(Objects::nonNull).map(q -> q.rebake()).collect(Collectors.toList());
+        return Arrays.stream(quads).filter(Objects::nonNull).map(PackedQuad::rebake).collect(Collectors.toList());
     }
 }
@@ -6,7 +6,9 @@ import java.util.List;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.Quad;
+import team.chisel.client.render.QuadTable;
 import team.chisel.client.render.ctm.CTM;
 import team.chisel.client.render.ctm.ISubmap;
 import team.chisel.client.render.ctx.CTMBlockRenderContext;
@@ -15,32 +17,56 @@ import team.chisel.common.util.Dir;
 
 public class ChiselTextureCTMH extends AbstractChiselTexture<BlockRenderTypeCTMH> {
 
+    /** The submaps a horizontal face can use, indexed by layout */
+    private static final ISubmap[] SUBMAPS = { Quad.TOP_LEFT, Quad.TOP_RIGHT, Quad.BOTTOM_RIGHT, Quad.BOTTOM_LEFT };
+    private static final int[] LAYOUT_LOOKUP = new int[256];
+
+    static {
+        CTM ctm = CTM.getInstance();
+        for (int mask = 0; mask < LAYOUT_LOOKUP.length; mask++) {
+            ctm.createSubmapIndices(mask);
+            LAYOUT_LOOKUP[mask] = getLayout(ctm);
+        }
+    }
+
+    private final QuadTable table = new QuadTable(SUBMAPS.length, this::bakeQuad);
+
     public ChiselTextureCTMH(BlockRenderTypeCTMH type, TextureInfo info) {
         super(type, info);
     }
 
     @Override
     public List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal) {
-        Quad q = Quad.from(quad).setFullbright(fullbright);
+        if (context == null || quad.getFace().getAxis().isVertical()) {
+            return table.get(quad, 0);
+        }
+        return table.get(quad, LAYOUT_LOOKUP[((CTMBlockRenderContext) context).getCTM(quad.getFace()).getConnections()]);
+    }
+
+    @Override
+    public void precomputeQuad(BakedQuad quad) {
+        table.precompute(quad);
+    }
+
+    private List<BakedQuad> bakeQuad(BakedQuad quad, int layout) {
+        PackedQuad q = PackedQuad.from(quad).setFullbright(fullbright);
         if (quad.getFace().getAxis().isVertical()) {
             q = q.transformUVs(sprites[0].getSprite());
         } else {
-            CTM ctm = context == null ? null : ((CTMBlockRenderContext) context).getCTM(quad.getFace());
-            ISubmap submap = getQuad(ctm);
-            q = q.transformUVs(sprites[1].getSprite(), submap);
+            q = q.transformUVs(sprites[1].getSprite(), SUBMAPS[layout]);
         }
         return Collections.singletonList(q.rebake());
     }
 
-    private ISubmap getQuad(CTM ctm) {
-        if (ctm == null || !ctm.connectedOr(Dir.LEFT, Dir.RIGHT)) {
-            return Quad.TOP_LEFT;
+    private static int getLayout(CTM ctm) {
+        if (!ctm.connectedOr(Dir.LEFT, Dir.RIGHT)) {
+            return 0;
         } else if (ctm.connectedAnd(Dir.LEFT, Dir.RIGHT)) {
-            return Quad.TOP_RIGHT;
+            return 1;
         } else if (ctm.connected(Dir.LEFT)) {
-            return Quad.BOTTOM_RIGHT;
+            return 2;
         } else {
-            return Quad.BOTTOM_LEFT;
+            return 3;
         }
     }
 }
@@ -8,7 +8,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumFacing.Axis;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
-import team.chisel.client.render.Quad;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.ctm.ISubmap;
 import team.chisel.client.render.ctx.CTMVBlockRenderContext;
 import team.chisel.client.render.ctx.CTMVBlockRenderContext.ConnectionData;
@@ -30,15 +30,15 @@ public class ChiselTextureCTMV extends AbstractChiselTexture<BlockRenderTypeCTMV
     public List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal) {
         if (context == null) {
             if (quad.getFace() != null && quad.getFace().getAxis().isVertical()) {
-                return Lists.newArrayList(from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).rebake());
+                return Lists.newArrayList(PackedQuad.from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).rebake());
             }
-            return Lists.newArrayList(from(quad).transformUVs(sprites[1].getSprite(), TOP_LEFT).setFullbright(fullbright).rebake());
+            return Lists.newArrayList(PackedQuad.from(quad).transformUVs(sprites[1].getSprite(), TOP_LEFT).setFullbright(fullbright).rebake());
         }
         return Lists.newArrayList(getQuad(quad, ((CTMVBlockRenderContext) context).getData()));
     }
 
     private BakedQuad getQuad(BakedQuad in, ConnectionData data) {
-        Quad q = from(in).setFullbright(fullbright);
+        PackedQuad q = PackedQuad.from(in).setFullbright(fullbright);
         Connections cons = data.getConnections();
         
         // This is the order of operations for connections
@@ -14,7 +14,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
-import team.chisel.client.render.Quad;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.ctm.ISubmap;
 import team.chisel.client.render.ctm.Submap;
 import team.chisel.client.render.ctx.BlockRenderContextPosition;
@@ -33,6 +33,7 @@ public class ChiselTextureMap extends AbstractChiselTexture<BlockRenderTypeMap>
                 EnumFacing side = quad.getFace();
 
                 BlockPos pos = context == null ? new BlockPos(0, 0, 0) : ((BlockRenderContextPosition) context).getPosition();
+                Random rand = random.get();
                 rand.setSeed(MathHelper.getPositionRandom(pos) + side.ordinal());
                 rand.nextBoolean();
 
@@ -48,7 +49,7 @@ public class ChiselTextureMap extends AbstractChiselTexture<BlockRenderTypeMap>
                 float maxV = unitsDown * intervalY;
                 ISubmap uvs = new Submap(intervalX, intervalY, maxU - intervalX, maxV - intervalY);
 
-                return Collections.singletonList(Quad.from(quad).transformUVs(tex.sprites[0].getSprite(), uvs).setFullbright(tex.fullbright).rebake());
+                return Collections.singletonList(PackedQuad.from(quad).transformUVs(tex.sprites[0].getSprite(), uvs).setFullbright(tex.fullbright).rebake());
             }
         },
         PATTERNED {
@@ -102,21 +103,21 @@ public class ChiselTextureMap extends AbstractChiselTexture<BlockRenderTypeMap>
 
                 ISubmap submap = new Submap(intervalU, intervalV, minU, minV);
 
-                Quad q = Quad.from(quad).setFullbright(tex.fullbright);
+                PackedQuad q = PackedQuad.from(quad).setFullbright(tex.fullbright);
                 if (quadGoal != 4) {
                     return Collections.singletonList(q.transformUVs(tex.sprites[0].getSprite(), submap).rebake());
                 } else {
                     // Chisel.debug("V texture complying with quad goal of 4");
                     // Chisel.debug(new float[] { minU, minV, minU + intervalU, minV + intervalV });
 
-                    Quad[] quads = q.subdivide(4);
+                    PackedQuad[] quads = q.subdivide(4);
 
                     for (int i = 0; i < quads.length; i++) {
                         if (quads[i] != null) {
                             quads[i] = quads[i].transformUVs(tex.sprites[0].getSprite(), submap);
                         }
                     }
-                    return Arrays.stream(quads).filter(Objects::nonNull).map(Quad::rebake).collect(Collectors.toList());
+                    return Arrays.stream(quads).filter(Objects::nonNull).map(PackedQuad::rebake).collect(Collectors.toList());
                 }
             }
         };
@@ -129,7 +130,8 @@ public class ChiselTextureMap extends AbstractChiselTexture<BlockRenderTypeMap>
 
     private final MapType map;
 
-    private static final Random rand = new Random();
+    /** Reseeded from the position and side for every RANDOM quad, instead of allocating a new Random each time */
+    private static final ThreadLocal<Random> random = ThreadLocal.withInitial(Random::new);
 
     public ChiselTextureMap(BlockRenderTypeMap type, TextureInfo info, MapType map) {
         super(type, info);
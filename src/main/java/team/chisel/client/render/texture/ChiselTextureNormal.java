@@ -8,7 +8,7 @@ import java.util.stream.Collectors;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
-import team.chisel.client.render.Quad;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.type.BlockRenderTypeNormal;
 
 import com.google.common.collect.Lists;
@@ -25,8 +25,8 @@ public class ChiselTextureNormal extends AbstractChiselTexture<BlockRenderTypeNo
     @Override
     public List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal) {
         if (quadGoal == 4) {
-            return Arrays.stream(Quad.from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).subdivide(4)).filter(Objects::nonNull).map(qu -> qu.rebake()).collect(Collectors.toList());
+            return Arrays.stream(PackedQuad.from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).subdivide(4)).filter(Objects::nonNull).map(qu -> qu.rebake()).collect(Collectors.toList());
         }
-        return Lists.newArrayList(Quad.from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).rebake());
+        return Lists.newArrayList(PackedQuad.from(quad).transformUVs(sprites[0].getSprite()).setFullbright(fullbright).rebake());
     }
 }
@@ -6,7 +6,9 @@ import java.util.List;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import team.chisel.api.render.IBlockRenderContext;
 import team.chisel.api.render.TextureInfo;
+import team.chisel.client.render.PackedQuad;
 import team.chisel.client.render.Quad;
+import team.chisel.client.render.QuadTable;
 import team.chisel.client.render.ctm.CTM;
 import team.chisel.client.render.ctm.ISubmap;
 import team.chisel.client.render.ctx.CTMBlockRenderContext;
@@ -15,38 +17,54 @@ import team.chisel.common.util.Dir;
 
 public class ChiselTextureSimpleCTM extends AbstractChiselTexture<BlockRenderTypeSimpleCTM> {
 
+    /** The submaps a face can use, indexed by layout */
+    private static final ISubmap[] SUBMAPS = { Quad.TOP_LEFT, Quad.TOP_RIGHT, Quad.BOTTOM_RIGHT, Quad.BOTTOM_LEFT };
+    private static final int[] LAYOUT_LOOKUP = new int[256];
+
+    static {
+        CTM ctm = CTM.getInstance();
+        for (int mask = 0; mask < LAYOUT_LOOKUP.length; mask++) {
+            ctm.createSubmapIndices(mask);
+            LAYOUT_LOOKUP[mask] = getLayout(ctm);
+        }
+    }
+
+    private final QuadTable table = new QuadTable(SUBMAPS.length, this::bakeQuad);
+
     public ChiselTextureSimpleCTM(BlockRenderTypeSimpleCTM type, TextureInfo info) {
         super(type, info);
     }
 
     @Override
     public List<BakedQuad> transformQuad(BakedQuad quad, IBlockRenderContext context, int quadGoal) {
-        Quad q = Quad.from(quad).setFullbright(fullbright);
-
         if (context == null) {
-            return Collections.singletonList(q.transformUVs(sprites[0].getSprite(), Quad.TOP_LEFT).rebake());
+            return table.get(quad, 0);
         }
+        return table.get(quad, LAYOUT_LOOKUP[((CTMBlockRenderContext) context).getCTM(quad.getFace()).getConnections()]);
+    }
 
-        return Collections.singletonList(q.transformUVs(sprites[0].getSprite(), getQuad(((CTMBlockRenderContext) context).getCTM(quad.getFace()))).rebake());
+    @Override
+    public void precomputeQuad(BakedQuad quad) {
+        table.precompute(quad);
     }
 
-    private ISubmap getQuad(CTM ctm) {
-        if (ctm == null) {
-            return Quad.TOP_LEFT;
-        }
+    private List<BakedQuad> bakeQuad(BakedQuad quad, int layout) {
+        return Collections.singletonList(PackedQuad.from(quad).setFullbright(fullbright).transformUVs(sprites[0].getSprite(), SUBMAPS[layout]).rebake());
+    }
 
+    private static int getLayout(CTM ctm) {
         if (!ctm.connectedOr(Dir.TOP, Dir.RIGHT, Dir.BOTTOM, Dir.LEFT)) {
-            return Quad.TOP_LEFT;
+            return 0;
         } else if (ctm.connectedAnd(Dir.TOP, Dir.TOP_RIGHT, Dir.RIGHT, Dir.BOTTOM_RIGHT, Dir.BOTTOM, Dir.BOTTOM_LEFT, Dir.LEFT, Dir.TOP_LEFT)) {
-            return Quad.BOTTOM_RIGHT;
+            return 2;
         } else if (ctm.connectedAnd(Dir.TOP, Dir.RIGHT, Dir.BOTTOM, Dir.LEFT)) {
-            return Quad.TOP_LEFT;
+            return 0;
         } else if (ctm.connectedAnd(Dir.LEFT, Dir.RIGHT)) {
-            return Quad.TOP_RIGHT;
+            return 1;
         } else if (ctm.connectedAnd(Dir.TOP, Dir.BOTTOM)) {
-            return Quad.BOTTOM_LEFT;
+            return 3;
         } else {
-            return Quad.TOP_LEFT;
+            return 0;
         }
     }
 }
@@ -37,4 +37,9 @@ public class BlockRenderTypeCTM implements IBlockRenderType {
     public IBlockRenderContext getContextFromData(long data){
         return new CTMBlockRenderContext(data);
     }
+
+    @Override
+    public boolean isContextCacheable() {
+        return true;
+    }
 }
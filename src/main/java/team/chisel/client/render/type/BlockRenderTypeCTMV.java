@@ -32,4 +32,9 @@ public class BlockRenderTypeCTMV implements IBlockRenderType {
     public IBlockRenderContext getContextFromData(long data){
         return new CTMVBlockRenderContext(data);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean isContextCacheable() {
+        return true;
+    }
+}
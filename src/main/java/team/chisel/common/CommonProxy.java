@@ -22,6 +22,9 @@ public class CommonProxy implements Reference {
     public void initiateFaceData(ICarvable carvable) {
     }
 
+    public void onChiselResult(int sequence, int chiseled, boolean retry) {
+    }
+
     private static final IVariationBuilderDelegate SERVER_DELEGATE = new BuilderDelegateServer();
 
     public IVariationBuilderDelegate getBuilderDelegate() {
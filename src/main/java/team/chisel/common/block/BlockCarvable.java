@@ -36,6 +36,8 @@ import team.chisel.api.render.IBlockRenderType;
 import team.chisel.api.render.RenderContextList;
 import team.chisel.client.BlockFaceData;
 import team.chisel.client.ClientUtil;
+import team.chisel.client.render.ctx.ContextCache;
+import team.chisel.client.render.ctx.NeighbourhoodSnapshot;
 import team.chisel.common.init.ChiselTabs;
 import team.chisel.common.util.PropertyAnyInteger;
 import team.chisel.common.util.PropertyRenderContextList;
@@ -202,16 +204,25 @@ public class BlockCarvable extends Block implements ICarvable {
     @SideOnly(Side.CLIENT)
     @Override
     public IBlockState getExtendedState(IBlockState stateIn, IBlockAccess w, BlockPos pos) {
+        return withRenderContexts(this, stateIn, w, pos);
+    }
+
+    /**
+     * Adds the render contexts of all types used by the variation of the given state to it. The state must come from a block state container with {@link #CTX_LIST}.
+     */
+    @SideOnly(Side.CLIENT)
+    public static IBlockState withRenderContexts(ICarvable block, IBlockState stateIn, IBlockAccess w, BlockPos pos) {
         if (stateIn.getMaterial() == Material.AIR) {
             return stateIn;
         }
         
-        BlockFaceData data = this.blockFaceData;
+        BlockFaceData data = block.getBlockFaceData();
         if (data != null) {
             IExtendedBlockState state = (IExtendedBlockState) stateIn;
-            List<IBlockRenderType> types = data.getForMeta(getMetaFromState(state)).getTypesUsed();
+            List<IBlockRenderType> types = data.getForMeta(block.getVariationIndex(state)).getTypesUsed();
 
-            RenderContextList ctxList = new RenderContextList(types, w, pos);
+            // All render types share one snapshot, so each neighbour is only read from the world once
+            RenderContextList ctxList = new RenderContextList(types, new NeighbourhoodSnapshot(w, pos), pos, ContextCache.INSTANCE::getBlockRenderContext);
 
             return state.withProperty(CTX_LIST, ctxList);
         }
@@ -3,6 +3,7 @@ package team.chisel.common.carving;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -10,6 +11,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.oredict.OreDictionary;
 import team.chisel.Chisel;
 import team.chisel.api.carving.CarvingUtils;
@@ -17,7 +19,9 @@ import team.chisel.api.carving.ICarvingGroup;
 import team.chisel.api.carving.ICarvingRegistry;
 import team.chisel.api.carving.ICarvingVariation;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 @ParametersAreNonnullByDefault
 public class Carving implements ICarvingRegistry {
@@ -51,6 +55,15 @@ public class Carving implements ICarvingRegistry {
 			return true;
 		}
 
+		@Override
+		public int hashCode() {
+			if (wrapped == null) {
+				return 0;
+			}
+			int ret = System.identityHashCode(wrapped.getItem()) * 31 + wrapped.getItemDamage();
+			return ret * 31 + (wrapped.getTagCompound() == null ? 0 : wrapped.getTagCompound().hashCode());
+		}
+
 	}
 
 	GroupList groups = new GroupList();
@@ -68,37 +81,53 @@ public class Carving implements ICarvingRegistry {
 	private Carving() {
 	}
 
+	/**
+	 * Builds the lookup indexes of both registries. Called once loading is complete, any change after this rebuilds them right away.
+	 */
+	public static void freeze() {
+		((Carving) chisel).groups.freeze();
+		needle.groups.freeze();
+	}
+
+	/**
+	 * Runs the given changes to this registry as one, so that readers see them all at once, and the lookup indexes are only rebuilt once.
+	 */
+	public void batch(Runnable changes) {
+		groups.batch(changes);
+	}
+
 	@Override
 	public ICarvingVariation getVariation(IBlockState state) {
-		return getVariation(state, getGroup(state));
+		// Only the variation of the group the state is chiseled in, which can be an ore group
+		ICarvingGroup group = getGroup(state);
+		if (group == null) {
+			return null;
+		} else if (group == groups.getGroup(state)) {
+			return groups.getVariation(state);
+		}
+		for (ICarvingVariation v : groups.getVariations(group)) {
+			if (v.getBlockState().equals(state)) {
+				return v;
+			}
+		}
+		return null;
 	}
 	
 	@Override
 	public ICarvingVariation getVariation(ItemStack stack) {
-		return getVariation(stack, getGroup(stack));
-    }
-
-    private ICarvingVariation getVariation(IBlockState state, ICarvingGroup group) {
-        if (group != null) {
-            for (ICarvingVariation v : group.getVariations()) {
-                if (v.getBlockState().equals(state)) {
-                    return v;
-                }
-            }
-        }
-        return null;
-	}
-
-	private ICarvingVariation getVariation(ItemStack stack, ICarvingGroup group) {
-		if (group != null) {
-			for (ICarvingVariation v : group.getVariations()) {
-				if (stack.isItemEqual(v.getStack()) && ItemStack.areItemStackTagsEqual(stack, v.getStack())) {
-					return v;
-				}
+		ICarvingGroup group = getGroup(stack);
+		if (group == null) {
+			return null;
+		} else if (group == groups.getGroup(stack)) {
+			return groups.getVariation(stack);
+		}
+		for (ICarvingVariation v : groups.getVariations(group)) {
+			if (stack.isItemEqual(v.getStack()) && ItemStack.areItemStackTagsEqual(stack, v.getStack())) {
+				return v;
 			}
 		}
 		return null;
-	}
+    }
 	
 	@Override
 	public List<ICarvingVariation> getGroupVariations(IBlockState state) {
@@ -106,7 +135,7 @@ public class Carving implements ICarvingRegistry {
 		if (group == null)
 			return null;
 
-		return group.getVariations();
+		return groups.getVariations(group);
 	}
 
 	@Override
@@ -118,48 +147,62 @@ public class Carving implements ICarvingRegistry {
 		return group.getOreName();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The results of each group are computed once, and kept until the registry or the ore dictionary changes. The returned stacks are copies, free to be modified.
+	 */
 	@Override
 	public List<ItemStack> getItemsForChiseling(ItemStack chiseledItem) {
 		ArrayList<ItemStack> items = new ArrayList<ItemStack>();
 
-		ICarvingGroup group = null;
-		
-		group = getGroup(chiseledItem);
+		ICarvingGroup group = getGroup(chiseledItem);
 
 		if (group == null)
 			return items;
 
-		List<ICarvingVariation> variations = group.getVariations();
-		List<ItemStackWrapper> found = Lists.newArrayList();
+		for (ItemStack stack : groups.getChiselResults(group, this::computeItemsForChiseling)) {
+			items.add(stack.copy());
+		}
+		return items;
+	}
 
-		if (!group.getVariations().isEmpty()) {
-			for (ICarvingVariation v : variations) {
-				addNewStackToList(v.getStack(), items, found);
-			}
+	private List<ItemStack> computeItemsForChiseling(ICarvingGroup group, List<ICarvingVariation> variations) {
+		List<ItemStack> items = Lists.newArrayList();
+		Set<ItemStackWrapper> found = Sets.newHashSet();
+
+		for (ICarvingVariation v : variations) {
+			addNewStackToList(v.getStack(), items, found);
 		}
 
 		List<ItemStack> ores;
 		String oreName = group.getOreName();
 		if (oreName != null && ((ores = OreDictionary.getOres(oreName)) != null)) {
 			for (ItemStack stack : ores) {
-				addNewStackToList(stack, items, found);
+				addNewStackToList(stack.copy(), items, found);
 			}
 		}
 
-		return items;
+		return ImmutableList.copyOf(items);
 	}
 	
-	private void addNewStackToList(ItemStack stack, List<ItemStack> list, List<ItemStackWrapper> found) {
-		ItemStackWrapper wrapper = new ItemStackWrapper(stack);
-		if (!found.contains(wrapper)) {
+	private void addNewStackToList(ItemStack stack, List<ItemStack> list, Set<ItemStackWrapper> found) {
+		if (found.add(new ItemStackWrapper(stack))) {
 			list.add(stack);
-			found.add(wrapper);
 		}
 	}
 
+	/**
+	 * Throws away the cached chisel results when an ore is registered, as ore groups can chisel into any item of their ore.
+	 */
+	@SubscribeEvent
+	public void onOreRegister(OreDictionary.OreRegisterEvent event) {
+		groups.clearChiselResults();
+	}
+
 	@Override
 	public ICarvingGroup getGroup(IBlockState state) {
-		ICarvingVariation variation = getVariation(state, groups.getGroup(state));
+		ICarvingVariation variation = groups.getVariation(state);
 		ItemStack stack = variation == null ? null : variation.getStack();
 		ICarvingGroup ore = getOreGroup(stack);
 		return ore == null ? groups.getGroup(state) : ore;
@@ -226,14 +269,7 @@ public class Carving implements ICarvingRegistry {
 			throw new NullPointerException("Cannot add variation in group " + groupName + " for null variation.");
 		}
 
-		ICarvingGroup group = groups.getGroupByName(groupName);
-
-		if (group == null) {
-			group = CarvingUtils.getDefaultGroupFor(groupName);
-			addGroup(group);
-		}
-
-		groups.addVariation(groupName, variation);
+		groups.addVariation(groupName, variation, CarvingUtils::getDefaultGroupFor);
 	}
 
 	@Override
@@ -246,6 +282,7 @@ public class Carving implements ICarvingRegistry {
 		ICarvingGroup group = groups.getGroupByName(name);
 		if (group != null) {
 			group.setOreName(oreName);
+			groups.changed();
 		} else {
 			throw new NullPointerException("Cannot register ore name for group " + name + ", as it does not exist.");
 		}
@@ -0,0 +1,181 @@
+package team.chisel.common.carving;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent.ClientDisconnectionFromServerEvent;
+import team.chisel.Chisel;
+import team.chisel.api.carving.ICarvingGroup;
+import team.chisel.api.carving.ICarvingVariation;
+import team.chisel.client.gui.PacketCarvingIds;
+import team.chisel.common.carving.GroupList.ItemKey;
+
+/**
+ * Numeric IDs of the chisel groups and their variations, so that chisel packets only carry a few numbers instead of whole item stacks.
+ * <p>
+ * The server numbers the groups in order of their names, and the variations in their order within the group. A new table is made whenever the groups change, and sent to every player when they log
+ * in. Every table has a version, so that the server can tell when a client used an outdated one.
+ */
+@ParametersAreNonnullByDefault
+public class CarvingIds {
+
+	public enum LoginHandler {
+		INSTANCE;
+
+		@SubscribeEvent
+		public void onPlayerLogin(PlayerLoggedInEvent event) {
+			if (event.player instanceof EntityPlayerMP) {
+				send((EntityPlayerMP) event.player);
+			}
+		}
+	}
+
+	/**
+	 * Forgets the table of the server the client leaves, so that it is never used against another server.
+	 */
+	public enum DisconnectHandler {
+		INSTANCE;
+
+		@SubscribeEvent
+		public void onDisconnect(ClientDisconnectionFromServerEvent event) {
+			client = null;
+		}
+	}
+
+	private static final AtomicInteger versions = new AtomicInteger();
+
+	/** The table received from the server, null while the player is not on a server */
+	private static volatile @Nullable CarvingIds client;
+
+	private final int version;
+	private final ItemStack[][] stacks;
+	/** Packed group and variation IDs by the item, metadata and NBT of their stack */
+	private final Map<ItemKey, Integer> ids = new HashMap<>();
+
+	CarvingIds(Map<String, ICarvingGroup> groups, Function<ICarvingGroup, List<ICarvingVariation>> variationsOf) {
+		this.version = versions.incrementAndGet();
+		List<String> names = new ArrayList<>(groups.keySet());
+		Collections.sort(names);
+		this.stacks = new ItemStack[names.size()][];
+		for (int g = 0; g < stacks.length; g++) {
+			List<ICarvingVariation> variations = variationsOf.apply(groups.get(names.get(g)));
+			stacks[g] = new ItemStack[variations.size()];
+			for (int v = 0; v < stacks[g].length; v++) {
+				ICarvingVariation variation = variations.get(v);
+				if (variation != null) {
+					put(g, v, variation.getStack());
+				}
+			}
+		}
+	}
+
+	private CarvingIds(ByteBuf buf) {
+		this.version = ByteBufUtils.readVarInt(buf, 5);
+		this.stacks = new ItemStack[ByteBufUtils.readVarInt(buf, 5)][];
+		for (int g = 0; g < stacks.length; g++) {
+			stacks[g] = new ItemStack[ByteBufUtils.readVarInt(buf, 5)];
+			for (int v = 0; v < stacks[g].length; v++) {
+				int id = ByteBufUtils.readVarInt(buf, 5);
+				int meta = ByteBufUtils.readVarInt(buf, 5);
+				NBTTagCompound tag = ByteBufUtils.readTag(buf);
+				Item item = id < 0 ? null : Item.getItemById(id);
+				if (item != null) {
+					ItemStack stack = new ItemStack(item, 1, meta);
+					stack.setTagCompound(tag);
+					put(g, v, stack);
+				}
+			}
+		}
+	}
+
+	private void put(int group, int variation, @Nullable ItemStack stack) {
+		if (stack == null || stack.getItem() == null) {
+			return;
+		}
+		stacks[group][variation] = stack;
+		ids.putIfAbsent(new ItemKey(stack), group << 16 | variation);
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return The group ID in the upper 16 bits and the variation ID in the lower 16 bits, or -1 if the stack is not a variation.
+	 */
+	public int getId(ItemStack stack) {
+		Integer id = stack.getItem() == null ? null : ids.get(new ItemKey(stack));
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @return A copy of the stack of the variation with the given IDs, or null if there is no such variation.
+	 */
+	public @Nullable ItemStack getStack(int group, int variation) {
+		if (group < 0 || group >= stacks.length || variation < 0 || variation >= stacks[group].length || stacks[group][variation] == null) {
+			return null;
+		}
+		return stacks[group][variation].copy();
+	}
+
+	/**
+	 * Writes the table in the format read by {@link #read(ByteBuf)}. Every variation is written as its item ID, metadata and NBT. Variations without an item are written as item -1.
+	 */
+	public void write(ByteBuf buf) {
+		ByteBufUtils.writeVarInt(buf, version, 5);
+		ByteBufUtils.writeVarInt(buf, stacks.length, 5);
+		for (ItemStack[] group : stacks) {
+			ByteBufUtils.writeVarInt(buf, group.length, 5);
+			for (ItemStack stack : group) {
+				ByteBufUtils.writeVarInt(buf, stack == null ? -1 : Item.getIdFromItem(stack.getItem()), 5);
+				ByteBufUtils.writeVarInt(buf, stack == null ? 0 : stack.getItemDamage(), 5);
+				ByteBufUtils.writeTag(buf, stack == null ? null : stack.getTagCompound());
+			}
+		}
+	}
+
+	public static CarvingIds read(ByteBuf buf) {
+		return new CarvingIds(buf);
+	}
+
+	/**
+	 * @return The current table of the server's chisel groups.
+	 */
+	public static CarvingIds getServerTable() {
+		return ((Carving) Carving.chisel).groups.getIds();
+	}
+
+	/**
+	 * @return The table last received from the server, or null if none was received yet.
+	 */
+	public static @Nullable CarvingIds getClientTable() {
+		return client;
+	}
+
+	public static void setClientTable(CarvingIds table) {
+		client = table;
+	}
+
+	/**
+	 * Sends the current table to the given player.
+	 */
+	public static void send(EntityPlayerMP player) {
+		Chisel.network.sendTo(new PacketCarvingIds(getServerTable()), player);
+	}
+}
@@ -4,17 +4,26 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import team.chisel.api.carving.ICarvingGroup;
 import team.chisel.api.carving.ICarvingVariation;
 
@@ -120,44 +129,181 @@ public class GroupList implements Set<ICarvingGroup> {
 		}
 	}
 
-	private HashMap<String, ICarvingGroup> groups = Maps.newHashMap();
-	private HashMap<VariationWrapper, ICarvingGroup> lookup = Maps.newHashMap();
+	/**
+	 * Item, metadata and NBT of a stack, to look up variations by their stack.
+	 */
+	static final class ItemKey {
+
+		private final Item item;
+		private final int meta;
+		private final NBTTagCompound tag;
+
+		ItemKey(ItemStack stack) {
+			this.item = stack.getItem();
+			this.meta = stack.getItemDamage();
+			this.tag = stack.getTagCompound();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ItemKey)) {
+				return false;
+			}
+			ItemKey other = (ItemKey) obj;
+			return item == other.item && meta == other.meta && Objects.equal(tag, other.tag);
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(item) * 31 + meta) * 31 + (tag == null ? 0 : tag.hashCode());
+		}
+	}
+
+	/**
+	 * Immutable state of all groups and indexes over their variations, replaced whenever the groups change.
+	 */
+	private static final class Snapshot {
+
+		private final Map<String, ICarvingGroup> groupsByName;
+		/** Copied when the snapshot is made, as writers change the groups themselves before the next snapshot is published */
+		private final Map<ICarvingGroup, List<ICarvingVariation>> variationsByGroup = Maps.newIdentityHashMap();
+		private final Map<IBlockState, ICarvingVariation> variationsByState = Maps.newHashMap();
+		private final Map<IBlockState, ICarvingGroup> groupsByState = Maps.newHashMap();
+		private final Map<ItemKey, ICarvingVariation> variationsByStack = Maps.newHashMap();
+		private final Map<ItemKey, ICarvingGroup> groupsByStack = Maps.newHashMap();
+		private final Map<String, ICarvingGroup> groupsByOre = Maps.newHashMap();
+		/** Computed when first asked for, and thrown away with the snapshot */
+		private final Map<ICarvingGroup, List<ItemStack>> chiselResults = new ConcurrentHashMap<>();
+		/** Made when first asked for, see {@link GroupList#getIds()} */
+		private CarvingIds ids;
+
+		/**
+		 * The variation indexes are built from the lookup in the order variations were registered, so that a state or stack in several groups resolves to the group it was added to last.
+		 */
+		private Snapshot(Map<String, ICarvingGroup> groups, Map<VariationWrapper, ICarvingGroup> lookup) {
+			this.groupsByName = ImmutableMap.copyOf(groups);
+			for (ICarvingGroup group : groupsByName.values()) {
+				variationsByGroup.put(group, ImmutableList.copyOf(group.getVariations()));
+			}
+			for (Map.Entry<VariationWrapper, ICarvingGroup> e : lookup.entrySet()) {
+				ICarvingVariation v = e.getKey().v;
+				IBlockState state = v.getBlockState();
+				if (state != null) {
+					variationsByState.put(state, v);
+					groupsByState.put(state, e.getValue());
+				}
+				ItemKey key = new ItemKey(v.getStack());
+				variationsByStack.put(key, v);
+				groupsByStack.put(key, e.getValue());
+			}
+			for (ICarvingGroup group : groupsByName.values()) {
+				String ore = group.getOreName();
+				if (ore != null && !groupsByOre.containsKey(ore)) {
+					groupsByOre.put(ore, group);
+				}
+			}
+		}
+
+		private List<ICarvingVariation> getVariations(ICarvingGroup group) {
+			List<ICarvingVariation> ret = variationsByGroup.get(group);
+			return ret == null ? ImmutableList.copyOf(group.getVariations()) : ret;
+		}
+	}
+
+	// Only touched by writers, which hold the lock on this list. Readers only see snapshots.
+	// In registration order, so that the snapshots built from them do not depend on hash order
+	private HashMap<String, ICarvingGroup> groups = Maps.newLinkedHashMap();
+	private HashMap<VariationWrapper, ICarvingGroup> lookup = Maps.newLinkedHashMap();
+
+	/** Null if the groups changed since it was built, and it has not been asked for since */
+	private volatile Snapshot snapshot;
+	/** Once frozen, a new snapshot is published right away on every change, instead of on the next read */
+	private boolean frozen;
+	private int batchDepth;
+	private boolean batchChanged;
+
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			synchronized (this) {
+				snapshot = this.snapshot;
+				if (snapshot == null) {
+					snapshot = this.snapshot = new Snapshot(groups, lookup);
+				}
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Publishes a snapshot now, and keeps publishing them from here on. Changes after this publish a new snapshot right away, so that reads never wait.
+	 */
+	public synchronized void freeze() {
+		frozen = true;
+		snapshot = new Snapshot(groups, lookup);
+	}
+
+	/**
+	 * Must be called after every change to the groups, or to the ore names of groups.
+	 */
+	public synchronized void changed() {
+		if (batchDepth > 0) {
+			batchChanged = true;
+		} else {
+			snapshot = frozen ? new Snapshot(groups, lookup) : null;
+		}
+	}
+
+	/**
+	 * Runs the given writes as one change, which readers see all at once in a single new snapshot.
+	 */
+	public synchronized void batch(Runnable writes) {
+		batchDepth++;
+		try {
+			writes.run();
+		} finally {
+			if (--batchDepth == 0 && batchChanged) {
+				batchChanged = false;
+				changed();
+			}
+		}
+	}
 
 	@Override
 	public int size() {
-		return groups.size();
+		return getSnapshot().groupsByName.size();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return groups.isEmpty();
+		return getSnapshot().groupsByName.isEmpty();
 	}
 
 	@Override
 	public boolean contains(Object o) {
 		if (o instanceof ICarvingGroup) {
-			return groups.containsKey(((ICarvingGroup) o).getName());
+			return getSnapshot().groupsByName.containsKey(((ICarvingGroup) o).getName());
 		}
 		return false;
 	}
 
 	@Override
 	public Iterator<ICarvingGroup> iterator() {
-		return groups.values().iterator();
+		return getSnapshot().groupsByName.values().iterator();
 	}
 
 	@Override
 	public Object[] toArray() {
-		return groups.values().toArray();
+		return getSnapshot().groupsByName.values().toArray();
 	}
 
 	@Override
 	public <T> T[] toArray(T[] arr) {
-		return groups.values().toArray(arr);
+		return getSnapshot().groupsByName.values().toArray(arr);
 	}
 
 	@Override
-	public boolean add(ICarvingGroup group) {
+	public synchronized boolean add(ICarvingGroup group) {
 		String key = group.getName();
 		if (groups.containsKey(key)) {
 			return false;
@@ -169,11 +315,12 @@ public class GroupList implements Set<ICarvingGroup> {
 			}
 		}
 		groups.put(key, group);
+		changed();
 		return true;
 	}
 
 	@Override
-	public boolean remove(Object o) {
+	public synchronized boolean remove(Object o) {
 		if (o instanceof ICarvingGroup) {
 			List<VariationWrapper> toRemove = Lists.newArrayList();
 			for (VariationWrapper v : lookup.keySet()) {
@@ -184,13 +331,16 @@ public class GroupList implements Set<ICarvingGroup> {
 			for (VariationWrapper v : toRemove) {
 				lookup.remove(v);
 			}
-			return groups.remove(((ICarvingGroup) o).getName()) != null;
+			boolean removed = groups.remove(((ICarvingGroup) o).getName()) != null;
+			changed();
+			return removed;
 		}
 		return false;
 	}
 
 	@Override
 	public boolean containsAll(Collection<?> c) {
+		Map<String, ICarvingGroup> groups = getSnapshot().groupsByName;
 		for (Object o : c) {
 			if (!(o instanceof ICarvingGroup)) {
 				return false;
@@ -203,21 +353,17 @@ public class GroupList implements Set<ICarvingGroup> {
 	}
 
 	@Override
-	public boolean addAll(Collection<? extends ICarvingGroup> c) {
-		boolean ret = false;
-		for (ICarvingGroup g : c) {
-			ret |= add(g);
-		}
-		return ret;
+	public synchronized boolean addAll(Collection<? extends ICarvingGroup> c) {
+		boolean[] ret = { false };
+		batch(() -> c.forEach(g -> ret[0] |= add(g)));
+		return ret[0];
 	}
 
 	@Override
-	public boolean removeAll(Collection<?> c) {
-		boolean ret = false;
-		for (Object o : c) {
-			ret |= remove(o);
-		}
-		return ret;
+	public synchronized boolean removeAll(Collection<?> c) {
+		boolean[] ret = { false };
+		batch(() -> c.forEach(o -> ret[0] |= remove(o)));
+		return ret[0];
 	}
 
 	@Override
@@ -226,47 +372,119 @@ public class GroupList implements Set<ICarvingGroup> {
 	}
 
 	@Override
-	public void clear() {
+	public synchronized void clear() {
 		groups.clear();
+		lookup.clear();
+		changed();
 	}
 
 	public ICarvingGroup getGroup(@Nonnull IBlockState state) {
-		return getGroup(new BlockKey(state));
+		return getSnapshot().groupsByState.get(state);
 	}
 	
+	/**
+	 * A stack which is not a variation itself still finds the group of the default state of its block, if that state's variation has the same item and metadata. This covers
+	 * blocks carrying NBT, which are otherwise identical to their variation.
+	 */
 	public ICarvingGroup getGroup(@Nonnull ItemStack stack) {
-		return getGroup(new StackKey(stack));
+		Snapshot snapshot = getSnapshot();
+		ICarvingGroup ret = snapshot.groupsByStack.get(new ItemKey(stack));
+		if (ret == null) {
+			Block block = Block.getBlockFromItem(stack.getItem());
+			if (block != null && block != Blocks.AIR) {
+				ICarvingVariation v = snapshot.variationsByState.get(block.getDefaultState());
+				if (v != null && v.getStack().getItem() == stack.getItem() && v.getStack().getItemDamage() == stack.getItemDamage()) {
+					ret = snapshot.groupsByState.get(block.getDefaultState());
+				}
+			}
+		}
+		return ret;
+	}
+
+	public ICarvingVariation getVariation(@Nonnull IBlockState state) {
+		return getSnapshot().variationsByState.get(state);
+	}
+
+	public ICarvingVariation getVariation(@Nonnull ItemStack stack) {
+		return getSnapshot().variationsByStack.get(new ItemKey(stack));
 	}
 	
 	public ICarvingGroup getGroup(@Nonnull ICarvingVariation variation) {
-		return lookup.get(new VariationWrapper(variation));
+		ICarvingGroup ret = getSnapshot().groupsByStack.get(new ItemKey(variation.getStack()));
+		return ret != null || variation.getBlockState() == null ? ret : getGroup(variation.getBlockState());
+	}
+
+	/**
+	 * Adds the variation to the group of the given name, creating the group with the given factory if it does not exist yet.
+	 */
+	public synchronized void addVariation(String name, @Nonnull ICarvingVariation variation, Function<String, ICarvingGroup> factory) {
+		batch(() -> {
+			if (!groups.containsKey(name)) {
+				add(factory.apply(name));
+			}
+			addVariation(name, variation);
+		});
 	}
 
 	@SuppressWarnings("deprecation")
-    public void addVariation(String name, @Nonnull ICarvingVariation variation) {
+    public synchronized void addVariation(String name, @Nonnull ICarvingVariation variation) {
 		ICarvingGroup g = groups.get(name);
 		if (g == null) {
 			throw new NullPointerException("No group exists for name " + name);
 		}
 		g.addVariation(variation);
 		lookup.put(new VariationWrapper(variation), g);
+		changed();
+	}
+
+	/**
+	 * @return The variations of the given group as of the current snapshot, so that they match the other lookups. The list is immutable.
+	 */
+	public List<ICarvingVariation> getVariations(ICarvingGroup group) {
+		return getSnapshot().getVariations(group);
 	}
 
 	public ICarvingGroup getGroupByName(String groupName) {
-		return groups.get(groupName);
+		return getSnapshot().groupsByName.get(groupName);
 	}
 
-	public ICarvingGroup getGroupByOre(String oreName) {
-		for (ICarvingGroup group : groups.values()) {
-			if (oreName.equals(group.getOreName())) {
-				return group;
+	/**
+	 * @return The items the given group chisels into, computed by the loader from the group and its variations the first time they are asked for after a change.
+	 */
+	public List<ItemStack> getChiselResults(ICarvingGroup group, BiFunction<ICarvingGroup, List<ICarvingVariation>, List<ItemStack>> loader) {
+		Snapshot snapshot = getSnapshot();
+		return snapshot.chiselResults.computeIfAbsent(group, g -> loader.apply(g, snapshot.getVariations(g)));
+	}
+
+	/**
+	 * Throws away the cached chisel results, for changes which affect them but not the groups, like ore registrations. The indexes are kept.
+	 */
+	public void clearChiselResults() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot != null) {
+			snapshot.chiselResults.clear();
+		}
+	}
+
+	/**
+	 * @return The numeric IDs of the current groups and variations. The same table is returned until the groups change.
+	 */
+	public CarvingIds getIds() {
+		Snapshot snapshot = getSnapshot();
+		synchronized (snapshot) {
+			if (snapshot.ids == null) {
+				snapshot.ids = new CarvingIds(snapshot.groupsByName, snapshot::getVariations);
 			}
+			return snapshot.ids;
 		}
-		return null;
+	}
+
+	public ICarvingGroup getGroupByOre(String oreName) {
+		return getSnapshot().groupsByOre.get(oreName);
 	}
 
 	public Collection<? extends String> getNames() {
-		return groups.keySet();
+		return getSnapshot().groupsByName.keySet();
 	}
 	
 	public ICarvingVariation removeVariation(@Nonnull ItemStack stack, String group) {
@@ -278,7 +496,7 @@ public class GroupList implements Set<ICarvingGroup> {
 	}
 
 	@SuppressWarnings("deprecation")
-    public ICarvingVariation removeVariation(@Nonnull ICarvingVariation variation, String group) {
+    public synchronized ICarvingVariation removeVariation(@Nonnull ICarvingVariation variation, String group) {
 		ICarvingGroup g = null;
 		if (group != null) {
 			g = groups.get(group);
@@ -297,11 +515,12 @@ public class GroupList implements Set<ICarvingGroup> {
 		for (VariationWrapper v : toRemove) {
 			lookup.remove(v);
 		}
+		changed();
 		return toRemove.isEmpty() ? null : toRemove.get(0).v;
 	}
 
 	@Override
 	public String toString() {
-		return groups.toString();
+		return getSnapshot().groupsByName.toString();
 	}
 }
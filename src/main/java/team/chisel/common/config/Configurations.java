@@ -1,11 +1,13 @@
 package team.chisel.common.config;
 
+import java.util.Arrays;
 import java.util.Locale;
 
 import net.minecraft.item.EnumDyeColor;
 import net.minecraft.item.ItemDye;
 import net.minecraftforge.common.config.Configuration;
 
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import team.chisel.Chisel;
@@ -26,6 +28,7 @@ public class Configurations {
     public static boolean chiselRecipe;
     public static boolean chiselStoneToCobbleBricks;
     public static boolean chiselBackToVanillaLeaves;
+    public static boolean profileStartup;
 
     public static int marbleAmount;
     public static int limestoneAmount;
@@ -38,6 +41,12 @@ public class Configurations {
     public static boolean oldPillars;
     public static boolean disableCTM;
     public static boolean connectInsideCTM;
+    public static boolean contextCache;
+    public static int modelCacheSize;
+    public static ModelCachePolicy modelCachePolicy;
+    public static boolean prebakeModels;
+    public static int prebakeBudget;
+    public static int prebakeThreads;
     public static boolean blockDescriptions;
     public static boolean imTooGoodForDescriptions;
 
@@ -76,6 +85,7 @@ public class Configurations {
         chiselStoneToCobbleBricks = config.get(category, "chiselStoneToCobbleBricks", true, "Chisel stone to cobblestone and bricks by left clicking.").getBoolean(false);
         chiselBackToVanillaLeaves = config
                 .get(category, "chiselBackToVanillaLeaves", false, "If this is true, you can chisel from the chisel leaves back to vanilla ones. If it is false, you cannot.").getBoolean(false);
+        profileStartup = config.get(category, "profileStartup", false, "Measure the time and memory each loading phase of chisel takes, and write them to logs/chisel-startup.json.").getBoolean(false);
 
         /* worldgen */
         category = "worldgen";
@@ -97,6 +107,17 @@ public class Configurations {
         disableCTM = !config.get(category, "connectedTextures", true, "Enable connected textures").getBoolean(true);
         CTM.disableObscuredFaceCheckConfig = connectInsideCTM = config.get(category, "connectInsideCTM", false,
                 "Choose whether the inside corner is disconnected on a CTM block - http://imgur.com/eUywLZ4").getBoolean(false);
+        contextCache = config.get(category, "cacheConnections", true, "Cache connected texture data between chunk re-renders. Uses a little memory per chunk section with connected textures in it.")
+                .getBoolean(true);
+        modelCacheSize = config.getInt("modelCacheSize", category, 2000, 1, 1000000,
+                "The amount of block models with connected textures to keep cached. Raise this if large builds re-render slowly, at the cost of some memory.");
+        String policy = config.getString("modelCachePolicy", category, ModelCachePolicy.SLRU.name(),
+                "How to choose which cached block model to drop. LRU drops the least recently used model, SLRU also protects models that are used more than once.", Arrays.stream(ModelCachePolicy.values()).map(Enum::name).toArray(String[]::new));
+        modelCachePolicy = EnumUtils.isValidEnum(ModelCachePolicy.class, policy) ? ModelCachePolicy.valueOf(policy) : ModelCachePolicy.SLRU;
+        prebakeModels = config.get(category, "prebakeModels", false,
+                "Build the models of common block arrangements while resources are reloaded, so that blocks do not stutter the first time they come into view. Makes reloading slower.").getBoolean(false);
+        prebakeBudget = config.getInt("prebakeBudget", category, 5000, 0, 600000, "The most time in milliseconds model pre-baking may take. Models left over are built when first rendered.");
+        prebakeThreads = config.getInt("prebakeThreads", category, 0, 0, 64, "The amount of threads to pre-bake models with. 0 uses one less than the amount of processors.");
         blockDescriptions = config.get(category, "tooltipsUseBlockDescriptions", true, "Make variations of blocks have the same name, and use the description in tooltip to distinguish them.")
                 .getBoolean(true);
         imTooGoodForDescriptions = config.get(category, "imTooGoodForBlockDescriptions", false, "For those people who just hate block descriptions on the world gen!").getBoolean();
@@ -149,8 +170,11 @@ public class Configurations {
         return true;
     }
 
+    /**
+     * Reads if a feature is enabled in the config. This does not account for parent features and required mods, use {@link Features#enabled()} for that.
+     */
     public static boolean featureEnabled(Features feature) {
-        return config.get("features", featureName(feature), true).getBoolean(true) && refreshConfig();
+        return config.get("features", featureName(feature), true).getBoolean(true);
     }
 
     /**
@@ -0,0 +1,14 @@
+package team.chisel.common.config;
+
+/**
+ * How the client's block model cache chooses which model to drop when it is full.
+ */
+public enum ModelCachePolicy {
+    /** Evicts the least recently used entry */
+    LRU,
+    /**
+     * Segmented LRU. New entries go into a probation segment, and are promoted to a protected segment when hit again. Entries are evicted from probation first, so that a burst of models
+     * which are only seen once cannot flush out the ones in constant use.
+     */
+    SLRU;
+}
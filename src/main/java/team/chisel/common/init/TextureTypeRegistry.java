@@ -3,12 +3,16 @@ package team.chisel.common.init;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.minecraft.util.StringUtils;
 import net.minecraftforge.fml.common.discovery.ASMDataTable.ASMData;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import team.chisel.api.render.BlockRenderType;
 import team.chisel.api.render.IBlockRenderType;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
@@ -19,29 +23,33 @@ import com.google.common.collect.Maps;
 public class TextureTypeRegistry {
 
     private static Map<String, IBlockRenderType> map = Maps.newHashMap();
+    private static Map<IBlockRenderType, Integer> slots = new ConcurrentHashMap<>();
+    private static AtomicInteger nextSlot = new AtomicInteger();
 
     @SuppressWarnings("unchecked")
     public static void preInit(FMLPreInitializationEvent event) {
-        Set<ASMData> annots = event.getAsmData().getAll(BlockRenderType.class.getName());
-        for (ASMData data : annots) {
-            String name = (String) data.getAnnotationInfo().get("value");
-            if (StringUtils.isNullOrEmpty(name)) {
-                name = data.getObjectName();
-                name = name.substring(name.lastIndexOf('.') + 1);
-            }
-            try {
-                register(name, ((Class<? extends IBlockRenderType>) Class.forName(data.getClassName())).newInstance());
-            } catch (InstantiationException e) {
-                // This might be a field, let's try that
+        try (Phase phase = StartupProfiler.start("textureTypes")) {
+            Set<ASMData> annots = event.getAsmData().getAll(BlockRenderType.class.getName());
+            for (ASMData data : annots) {
+                String name = (String) data.getAnnotationInfo().get("value");
+                if (StringUtils.isNullOrEmpty(name)) {
+                    name = data.getObjectName();
+                    name = name.substring(name.lastIndexOf('.') + 1);
+                }
                 try {
-                    Class<?> c = Class.forName(data.getClassName());
-                    register(name, (IBlockRenderType) c.getDeclaredField(data.getObjectName()).get(null));
-                } catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException | ClassNotFoundException e1) {
-                    // nope
-                    Throwables.propagate(e1);
+                    register(name, ((Class<? extends IBlockRenderType>) Class.forName(data.getClassName())).newInstance());
+                } catch (InstantiationException e) {
+                    // This might be a field, let's try that
+                    try {
+                        Class<?> c = Class.forName(data.getClassName());
+                        register(name, (IBlockRenderType) c.getDeclaredField(data.getObjectName()).get(null));
+                    } catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException | ClassNotFoundException e1) {
+                        // nope
+                        Throwables.propagate(e1);
+                    }
+                } catch (IllegalAccessException | ClassNotFoundException e) {
+                    Throwables.propagate(e);
                 }
-            } catch (IllegalAccessException | ClassNotFoundException e) {
-                Throwables.propagate(e);
             }
         }
     }
@@ -53,9 +61,29 @@ public class TextureTypeRegistry {
         }
         else if (map.get(key) != type){
             map.put(key, type);
+            getSlot(type);
         }
     }
 
+    /**
+     * Gets the slot of a render type. Slots are dense, starting at 0, and assigned in registration order. A type which was never registered is given the next free slot the first time it is
+     * looked up.
+     */
+    public static int getSlot(IBlockRenderType type) {
+        Integer slot = slots.get(type);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(type, t -> nextSlot.getAndIncrement());
+        }
+        return slot;
+    }
+
+    /**
+     * @return The amount of slots assigned so far.
+     */
+    public static int getSlotCount() {
+        return nextSlot.get();
+    }
+
     public static IBlockRenderType getType(String name){
         String key = name.toUpperCase(Locale.US);
         return map.get(key);
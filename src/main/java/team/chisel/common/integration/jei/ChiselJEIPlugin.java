@@ -8,16 +8,21 @@ import mezz.jei.api.IModRegistry;
 import mezz.jei.api.JEIPlugin;
 import team.chisel.common.carving.Carving;
 import team.chisel.common.integration.jei.ChiselRecipeHandler.CarvingGroupWrapper;
+import team.chisel.common.util.StartupProfiler;
+import team.chisel.common.util.StartupProfiler.Phase;
 
 @JEIPlugin
 public class ChiselJEIPlugin implements IModPlugin {
 
     @Override
     public void register(IModRegistry registry){
-        registry.addRecipeCategories(new ChiselRecipeCategory(registry.getJeiHelpers().getGuiHelper()));
-        registry.addRecipeHandlers(new ChiselRecipeHandler());
-        
-        registry.addRecipes(Carving.chisel.getSortedGroupNames().stream().map(s -> Carving.chisel.getGroup(s)).map(g -> new CarvingGroupWrapper(g)).collect(Collectors.toList()));
+        try (Phase phase = StartupProfiler.start("jei")) {
+            registry.addRecipeCategories(new ChiselRecipeCategory(registry.getJeiHelpers().getGuiHelper()));
+            registry.addRecipeHandlers(new ChiselRecipeHandler());
+
+            registry.addRecipes(Carving.chisel.getSortedGroupNames().stream().map(s -> Carving.chisel.getGroup(s)).map(g -> new CarvingGroupWrapper(g)).collect(Collectors.toList()));
+        }
+        StartupProfiler.update();
     }
 
     @Override
@@ -160,7 +160,10 @@ public class ContainerChisel extends Container {
         if (inventoryChisel.getStackInSpecialSlot() != null) {
             inventoryChisel.getStackInSpecialSlot().writeToNBT(targetTag);
         }
-        chisel.getTagCompound().setTag("chiselTarget", targetTag);
+        // Only touch the chisel if the target really changed, so that it is not synced again for nothing
+        if (!targetTag.equals(chisel.getTagCompound().getCompoundTag("chiselTarget"))) {
+            chisel.getTagCompound().setTag("chiselTarget", targetTag);
+        }
     }
 
     public void onChiselBroken() {
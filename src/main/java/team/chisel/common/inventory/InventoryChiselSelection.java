@@ -1,15 +1,17 @@
 package team.chisel.common.inventory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemTool;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentTranslation;
+import team.chisel.api.carving.ICarvingGroup;
 import team.chisel.common.item.ItemChisel;
 
 public class InventoryChiselSelection implements IInventory {
@@ -19,6 +21,9 @@ public class InventoryChiselSelection implements IInventory {
     public int activeVariations = 0;
     ContainerChisel container;
     ItemStack[] inventory;
+    /** The group of the input, and the variations shown for it */
+    private ICarvingGroup group;
+    private List<ItemStack> variations = Collections.emptyList();
 
     public InventoryChiselSelection(ItemStack c, int size) {
         super();
@@ -112,6 +117,8 @@ public class InventoryChiselSelection implements IInventory {
 
     public void clearItems() {
         activeVariations = 0;
+        group = null;
+        variations = Collections.emptyList();
         for (int i = 0; i < size; i++) {
             inventory[i] = null;
         }
@@ -125,33 +132,45 @@ public class InventoryChiselSelection implements IInventory {
         inventory[size] = stack;
     }
 
+    /**
+     * Fills the selection slots with the variations of the item in the input slot. The variations are only looked up again when the input's group changes, and only slots which do not hold their
+     * variation already are set, so that taking items out of the selection only refills the slot that was taken from.
+     */
     public void updateItems() {
         ItemStack chiseledItem = inventory[size];
-        clearItems();
-
-        if (chiseledItem == null) {
-            container.onChiselSlotChanged();
-            return;
+        ICarvingGroup group = isChiselable(chiseledItem) ? container.getCarving().getGroup(chiseledItem) : null;
+
+        if (group == null) {
+            clearItems();
+        } else {
+            if (group != this.group) {
+                this.group = group;
+                variations = new ArrayList<>();
+                for (ItemStack stack : container.getCarving().getItemsForChiseling(chiseledItem)) {
+                    if (variations.size() >= size) {
+                        break;
+                    }
+                    if (Block.REGISTRY.getNameForObject(Block.getBlockFromItem(stack.getItem())) != null) {
+                        variations.add(stack);
+                    }
+                }
+            }
+            activeVariations = variations.size();
+            for (int i = 0; i < size; i++) {
+                ItemStack variation = i < activeVariations ? variations.get(i) : null;
+                if (!ItemStack.areItemStacksEqual(inventory[i], variation)) {
+                    inventory[i] = variation == null ? null : variation.copy();
+                }
+            }
         }
 
-        Item item = chiseledItem.getItem();
-        if (item == null)
-            return;
-
-        if (Block.getBlockFromItem(item) == null)
-            return;
-
-        List<ItemStack> list = container.getCarving().getItemsForChiseling(chiseledItem);
-
-        activeVariations = 0;
-        while (activeVariations < size && activeVariations < list.size()) {
-            if (Block.REGISTRY.getNameForObject(Block.getBlockFromItem(list.get(activeVariations).getItem())) != null) {
-                inventory[activeVariations] = list.get(activeVariations);
-                activeVariations++;
-            }
+        if (chiseledItem == null || isChiselable(chiseledItem)) {
+            container.onChiselSlotChanged();
         }
+    }
 
-        container.onChiselSlotChanged();
+    private static boolean isChiselable(ItemStack stack) {
+        return stack != null && stack.getItem() != null && Block.getBlockFromItem(stack.getItem()) != null;
     }
 
     @Override
@@ -43,6 +43,13 @@ public enum Dir {
 		this.dirs = dirs;
     }
 
+    /**
+     * @return The bit this direction occupies in a CTM connection mask. See {@link CTM#getConnections()}.
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
     /**
      * Finds if this block is connected for the given side in this Dir.
      * 
@@ -88,23 +95,15 @@ public enum Dir {
         return connection;
     }
     
+    /**
+     * Finds the {@link Dir} that points at the same block as this one does on a {@link EnumFacing#SOUTH south} face, as seen from a face with the given normal.
+     * 
+     * @param normal
+     *            The normal of the face.
+     * @return The relativized Dir, or null if the block this Dir points at is not in the plane of the given face.
+     */
     public Dir relativize(EnumFacing normal) {
-        /*
-        if (normal == NORMAL) {
-            return this;
-        } else if (normal == NORMAL.getOpposite()) {
-            return getDirFor(getNormalizedDirs(normal));
-        } else {
-            if (dirs.length == 1) {
-                if (normal.getAxis() == dirs[0].getAxis()) {
-                    return null;
-                } else {
-                    return this;
-                }
-            }
-        }
-        */
-        throw new UnsupportedOperationException("Yell at tterrag to finish deserialization");
+        return RELATIVIZED[ordinal()][normal.ordinal()];
     }
 
 	public EnumFacing[] getNormalizedDirs(EnumFacing normal) {
@@ -212,4 +211,27 @@ public enum Dir {
 
         return facing;
 	}
-}
\ No newline at end of file
+
+	private static final Dir[][] RELATIVIZED = new Dir[VALUES.length][EnumFacing.VALUES.length];
+	static {
+	    for (Dir dir : VALUES) {
+	        BlockPos offset = offset(dir.dirs);
+	        for (EnumFacing normal : EnumFacing.VALUES) {
+	            for (Dir other : VALUES) {
+	                if (offset(other.getNormalizedDirs(normal)).equals(offset)) {
+	                    RELATIVIZED[dir.ordinal()][normal.ordinal()] = other;
+	                    break;
+	                }
+	            }
+	        }
+	    }
+	}
+
+	private static BlockPos offset(EnumFacing[] dirs) {
+	    BlockPos pos = BlockPos.ORIGIN;
+	    for (EnumFacing dir : dirs) {
+	        pos = pos.offset(dir);
+	    }
+	    return pos;
+	}
+}
@@ -0,0 +1,96 @@
+package team.chisel.common.util;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Value;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+/**
+ * The state of the hitech chisel's GUI that is kept on the chisel: the preview type, the selected and target slots, and if the preview rotates.
+ * <p>
+ * Changes are sent as the fields that differ from the last known state, and only fields that differ from the chisel's NBT are written to it, so that closing the GUI without changing anything does not
+ * touch the item.
+ */
+@Value
+@ParametersAreNonnullByDefault
+public class HitechState {
+
+    public static final int TYPE = 1, SELECTION = 2, TARGET = 4, ROTATE = 8;
+
+    private int type;
+    private int selection;
+    private int target;
+    private boolean rotate;
+
+    public static HitechState read(ItemStack chisel) {
+        return new HitechState(NBTUtil.getHitechType(chisel).ordinal(), NBTUtil.getHitechSelection(chisel), NBTUtil.getHitechTarget(chisel), NBTUtil.getHitechRotate(chisel));
+    }
+
+    /**
+     * @return The {@link #TYPE fields} which differ between this state and the given one.
+     */
+    public int diff(HitechState other) {
+        return (type != other.type ? TYPE : 0) | (selection != other.selection ? SELECTION : 0) | (target != other.target ? TARGET : 0) | (rotate != other.rotate ? ROTATE : 0);
+    }
+
+    /**
+     * @return This state with the given fields taken from the other state.
+     */
+    public HitechState with(HitechState other, int fields) {
+        return new HitechState((fields & TYPE) != 0 ? other.type : type, (fields & SELECTION) != 0 ? other.selection : selection, (fields & TARGET) != 0 ? other.target : target,
+                (fields & ROTATE) != 0 ? other.rotate : rotate);
+    }
+
+    /**
+     * Writes the fields that differ from what the chisel holds.
+     * 
+     * @return If the chisel was changed.
+     */
+    public boolean write(ItemStack chisel) {
+        int fields = diff(read(chisel));
+        if ((fields & TYPE) != 0) {
+            NBTUtil.setHitechType(chisel, type);
+        }
+        if ((fields & SELECTION) != 0) {
+            NBTUtil.setHitechSelection(chisel, selection);
+        }
+        if ((fields & TARGET) != 0) {
+            NBTUtil.setHitechTarget(chisel, target);
+        }
+        if ((fields & ROTATE) != 0) {
+            NBTUtil.setHitechRotate(chisel, rotate);
+        }
+        return fields != 0;
+    }
+
+    /**
+     * Writes the given fields, in the format read by {@link #read(ByteBuf, int)}. Slots are written one higher, so that no slot (-1) fits in a byte.
+     */
+    public void write(ByteBuf buf, int fields) {
+        if ((fields & TYPE) != 0) {
+            buf.writeByte(type);
+        }
+        if ((fields & SELECTION) != 0) {
+            ByteBufUtils.writeVarShort(buf, selection + 1);
+        }
+        if ((fields & TARGET) != 0) {
+            ByteBufUtils.writeVarShort(buf, target + 1);
+        }
+        if ((fields & ROTATE) != 0) {
+            buf.writeBoolean(rotate);
+        }
+    }
+
+    /**
+     * @return The given fields read from the buffer, all other fields are left at their defaults.
+     */
+    public static HitechState read(ByteBuf buf, int fields) {
+        int type = (fields & TYPE) != 0 ? buf.readUnsignedByte() : 0;
+        int selection = (fields & SELECTION) != 0 ? ByteBufUtils.readVarShort(buf) - 1 : -1;
+        int target = (fields & TARGET) != 0 ? ByteBufUtils.readVarShort(buf) - 1 : -1;
+        boolean rotate = (fields & ROTATE) != 0 && buf.readBoolean();
+        return new HitechState(type, selection, target, rotate);
+    }
+}
@@ -29,6 +29,17 @@ public class NBTUtil {
         return getTag(stack).getCompoundTag(KEY_TAG);
     }
     
+    /**
+     * Like {@link #getChiselTag(ItemStack)}, but adds the tag to the stack if it has none yet, so that values set on it are kept.
+     */
+    private static @Nonnull NBTTagCompound getOrCreateChiselTag(@Nonnull ItemStack stack) {
+        NBTTagCompound tag = getTag(stack);
+        if (!tag.hasKey(KEY_TAG, 10)) {
+            tag.setTag(KEY_TAG, new NBTTagCompound());
+        }
+        return tag.getCompoundTag(KEY_TAG);
+    }
+    
     public static void setChiselTag(@Nonnull ItemStack stack, @Nullable NBTTagCompound tag) {
         getTag(stack).setTag(KEY_TAG, tag);
     }
@@ -38,7 +49,7 @@ public class NBTUtil {
     }
 
     public static void setChiselTarget(@Nonnull ItemStack chisel, @Nullable ItemStack target) {
-        getChiselTag(chisel).setTag(KEY_TARGET, target == null ? new NBTTagCompound() : target.writeToNBT(new NBTTagCompound()));
+        getOrCreateChiselTag(chisel).setTag(KEY_TARGET, target == null ? new NBTTagCompound() : target.writeToNBT(new NBTTagCompound()));
     }
     
     @SuppressWarnings("null") // Can't use type annotations with JSR
@@ -47,7 +58,7 @@ public class NBTUtil {
     }
 
     public static void setHitechType(@Nonnull ItemStack stack, int type) {
-        getChiselTag(stack).setInteger(KEY_PREVIEW_TYPE, type);
+        getOrCreateChiselTag(stack).setInteger(KEY_PREVIEW_TYPE, type);
     }
     
     public static int getHitechSelection(@Nonnull ItemStack stack) {
@@ -56,7 +67,7 @@ public class NBTUtil {
     }
 
     public static void setHitechSelection(@Nonnull ItemStack chisel, int slot) {
-        getChiselTag(chisel).setInteger(KEY_SELECTION_SLOT, slot);
+        getOrCreateChiselTag(chisel).setInteger(KEY_SELECTION_SLOT, slot);
     }
     
     public static int getHitechTarget(@Nonnull ItemStack stack) {
@@ -65,7 +76,7 @@ public class NBTUtil {
     }
 
     public static void setHitechTarget(@Nonnull ItemStack chisel, int slot) {
-        getChiselTag(chisel).setInteger(KEY_TARGET_SLOT, slot);
+        getOrCreateChiselTag(chisel).setInteger(KEY_TARGET_SLOT, slot);
     }
     
     public static boolean getHitechRotate(@Nonnull ItemStack stack) {
@@ -73,6 +84,6 @@ public class NBTUtil {
     }
 
     public static void setHitechRotate(@Nonnull ItemStack chisel, boolean rotate) {
-        getChiselTag(chisel).setBoolean(KEY_ROTATE, rotate);
+        getOrCreateChiselTag(chisel).setBoolean(KEY_ROTATE, rotate);
     }
 }
@@ -0,0 +1,204 @@
+package team.chisel.common.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import lombok.RequiredArgsConstructor;
+import team.chisel.Chisel;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Measures the wall time, CPU time and allocated bytes of the phases of chisel's startup, and writes them as a tree to a json file and the log.
+ * <p>
+ * Phases are opened with {@link #start(String)} and closed at the end of a try-with-resources block. A phase started while another is open on the same thread becomes its child. Phases with the same
+ * name under the same parent are added together. Phases started on threads without an open phase are added to the top level, unless started {@link #start(Phase, String) under} a phase
+ * of another thread.
+ * <p>
+ * Nothing is measured unless enabled in the config. CPU time and allocation are left at 0 where the JVM can not measure them.
+ */
+@ParametersAreNonnullByDefault
+public class StartupProfiler {
+
+    public interface Phase extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private static class Node {
+
+        private final String name;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private int count;
+        private long wall, cpu, allocated;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        synchronized Node getChild(String name) {
+            return children.computeIfAbsent(name, Node::new);
+        }
+
+        synchronized void add(long wall, long cpu, long allocated) {
+            this.count++;
+            this.wall += wall;
+            this.cpu += cpu;
+            this.allocated += allocated;
+        }
+
+        synchronized List<Node> getChildren() {
+            return new ArrayList<>(children.values());
+        }
+
+        synchronized JsonObject toJson() {
+            JsonObject ret = new JsonObject();
+            ret.addProperty("name", name);
+            ret.addProperty("count", count);
+            ret.addProperty("wallMs", wall / 1e6);
+            ret.addProperty("cpuMs", cpu / 1e6);
+            ret.addProperty("allocatedKB", allocated / 1024);
+            if (!children.isEmpty()) {
+                JsonArray array = new JsonArray();
+                for (Node child : children.values()) {
+                    array.add(child.toJson());
+                }
+                ret.add("children", array);
+            }
+            return ret;
+        }
+
+        synchronized String summary() {
+            return String.format("%s: %.1f ms wall, %.1f ms cpu, %d KB allocated%s", name, wall / 1e6, cpu / 1e6, allocated / 1024, count > 1 ? " (" + count + " times)" : "");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class OpenPhase implements Phase {
+
+        private final Node node;
+        private final long wall, cpu, allocated;
+
+        @Override
+        public void close() {
+            node.add(System.nanoTime() - wall, cpuTime() - cpu, allocatedBytes() - allocated);
+            open.get().remove(this);
+        }
+    }
+
+    private static final Phase NONE = () -> {};
+
+    private static final Node root = new Node(Chisel.MOD_NAME);
+    private static final ThreadLocal<Deque<OpenPhase>> open = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static final boolean allocationSupported = isAllocationSupported();
+
+    private static volatile @Nullable File report;
+    private static volatile boolean reported;
+
+    /**
+     * Starts measuring, to be written to the given file.
+     */
+    public static void enable(File file) {
+        report = file;
+    }
+
+    /**
+     * Opens a phase, to be closed by the caller once it is done.
+     */
+    public static Phase start(String name) {
+        if (report == null) {
+            return NONE;
+        }
+        Deque<OpenPhase> open = StartupProfiler.open.get();
+        return start(open.isEmpty() ? root : open.peek().node, name);
+    }
+
+    /**
+     * Opens a phase as a child of the given phase, for work split over other threads.
+     */
+    public static Phase start(Phase parent, String name) {
+        return parent instanceof OpenPhase ? start(((OpenPhase) parent).node, name) : NONE;
+    }
+
+    private static Phase start(Node parent, String name) {
+        OpenPhase phase = new OpenPhase(parent.getChild(name), System.nanoTime(), cpuTime(), allocatedBytes());
+        open.get().push(phase);
+        return phase;
+    }
+
+    /**
+     * Writes the report and logs a summary of the top two levels of phases, once loading is complete.
+     */
+    public static void report() {
+        if (report == null) {
+            return;
+        }
+        reported = true;
+        Chisel.logger.info("Startup profile:");
+        for (Node node : root.getChildren()) {
+            Chisel.logger.info("  " + node.summary());
+            for (Node child : node.getChildren()) {
+                Chisel.logger.info("    " + child.summary());
+            }
+        }
+        write();
+    }
+
+    /**
+     * Writes the report again if it was written before, to add phases that run after loading, like resource reloads.
+     */
+    public static void update() {
+        if (reported) {
+            write();
+        }
+    }
+
+    private static void write() {
+        File file = report;
+        try {
+            file.getParentFile().mkdirs();
+            try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(root.toJson(), writer);
+            }
+            Chisel.logger.info("Wrote startup profile to " + file);
+        } catch (IOException e) {
+            Chisel.logger.warn("Could not write startup profile to " + file, e);
+        }
+    }
+
+    private static long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+        } catch (LinkageError e) {
+            // Not a HotSpot JVM
+            return false;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package team.chisel.common.util.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.util.ResourceLocation;
+
+import org.apache.commons.io.IOUtils;
+
+import team.chisel.Chisel;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Read only index of the descriptors bundled with the mod, compiled at build time by the {@code compileDescriptors} task. Saves opening and parsing hundreds of small json files on startup.
+ * <p>
+ * The index is memory mapped when it is a plain file, and read into memory when it is packed in a jar. Descriptors are only decoded when they are asked for. The format is, all big endian:
+ *
+ * <pre>
+ * int magic, int version
+ * int string count, per string: unsigned short length, UTF-8 bytes
+ * int entry count, per entry: int location, int record offset
+ * per record: byte kind, followed by
+ *   texture (0): int type, int texture count (-1 if absent) and textures, int layer, byte fullbright, int info count (-1 if absent) and (int key, int value) pairs
+ *   face (1): int texture count and textures, int particle
+ * </pre>
+ *
+ * Strings are referenced by their index in the string table, -1 if absent.
+ */
+@ParametersAreNonnullByDefault
+class DescriptorIndex {
+
+    static final int MAGIC = 0x43484458; // CHDX
+    static final int VERSION = 1;
+
+    private static final byte TEXTURE = 0;
+    private static final byte FACE = 1;
+
+    private final ByteBuffer buffer;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final Map<String, Integer> records = new HashMap<>();
+
+    private DescriptorIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a descriptor index of version " + VERSION);
+        }
+        int pos = 8;
+        stringOffsets = new int[buffer.getInt(pos)];
+        strings = new String[stringOffsets.length];
+        pos += 4;
+        for (int i = 0; i < stringOffsets.length; i++) {
+            stringOffsets[i] = pos;
+            pos += 2 + (buffer.getShort(pos) & 0xFFFF);
+        }
+        int entries = buffer.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < entries; i++, pos += 8) {
+            records.put(getString(buffer.getInt(pos)), buffer.getInt(pos + 4));
+        }
+    }
+
+    /**
+     * @return The index at the given classpath location, or null if there is none or it can not be read.
+     */
+    static @Nullable DescriptorIndex load(String path) {
+        URL url = DescriptorIndex.class.getResource(path);
+        if (url == null) {
+            Chisel.logger.info("No descriptor index found, loading all texture descriptors from json");
+            return null;
+        }
+        try {
+            ByteBuffer buffer;
+            if ("file".equals(url.getProtocol())) {
+                try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                    buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                try (InputStream in = url.openStream()) {
+                    buffer = ByteBuffer.wrap(IOUtils.toByteArray(in));
+                }
+            }
+            DescriptorIndex index = new DescriptorIndex(buffer);
+            Chisel.logger.info(String.format("Loaded index of %d bundled texture descriptors", index.size()));
+            return index;
+        } catch (IOException | RuntimeException | java.net.URISyntaxException e) {
+            Chisel.logger.warn("Could not load the descriptor index, loading all texture descriptors from json", e);
+            return null;
+        }
+    }
+
+    int size() {
+        return records.size();
+    }
+
+    boolean contains(ResourceLocation loc) {
+        return records.containsKey(loc.toString());
+    }
+
+    /**
+     * @return The descriptor at the given location, in the same form as its json file. Null if it is not in the index.
+     */
+    @Nullable
+    JsonObject get(ResourceLocation loc) {
+        Integer offset = records.get(loc.toString());
+        if (offset == null) {
+            return null;
+        }
+        int[] pos = { offset + 1 };
+        JsonObject ret = new JsonObject();
+        switch (buffer.get(offset)) {
+        case TEXTURE:
+            putString(ret, "type", next(pos));
+            putStrings(ret, "textures", pos);
+            putString(ret, "layer", next(pos));
+            if (buffer.get(pos[0]++) != 0) {
+                ret.addProperty("fullbright", true);
+            }
+            int count = next(pos);
+            if (count >= 0) {
+                JsonObject info = new JsonObject();
+                for (int i = 0; i < count; i++) {
+                    info.addProperty(getString(next(pos)), next(pos));
+                }
+                ret.add("info", info);
+            }
+            break;
+        case FACE:
+            putStrings(ret, "textures", pos);
+            putString(ret, "particle", next(pos));
+            break;
+        default:
+            throw new IllegalStateException("Corrupt descriptor index entry for " + loc);
+        }
+        return ret;
+    }
+
+    private int next(int[] pos) {
+        int ret = buffer.getInt(pos[0]);
+        pos[0] += 4;
+        return ret;
+    }
+
+    private void putString(JsonObject obj, String key, int string) {
+        if (string >= 0) {
+            obj.addProperty(key, getString(string));
+        }
+    }
+
+    private void putStrings(JsonObject obj, String key, int[] pos) {
+        int count = next(pos);
+        if (count >= 0) {
+            JsonArray array = new JsonArray();
+            for (int i = 0; i < count; i++) {
+                array.add(new JsonPrimitive(getString(next(pos))));
+            }
+            obj.add(key, array);
+        }
+    }
+
+    private String getString(int idx) {
+        String ret = strings[idx];
+        if (ret == null) {
+            int offset = stringOffsets[idx];
+            byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + 2);
+            view.get(bytes);
+            ret = strings[idx] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return ret;
+    }
+}
@@ -3,11 +3,23 @@ package team.chisel.common.util.json;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.IResourcePack;
+import net.minecraft.client.resources.ResourcePackRepository;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.client.FMLClientHandler;
 import team.chisel.Chisel;
 import team.chisel.api.render.IChiselFace;
 import team.chisel.api.render.IChiselTexture;
@@ -16,53 +28,164 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
+/**
+ * Resolves .cf and .ctx descriptors into faces and textures. Safe to use from several threads at once.
+ * <p>
+ * Every descriptor is read and created at most once. A thread asking for a descriptor that another thread is resolving waits for that result instead of resolving it again. Failures are not
+ * cached, and are thrown to the callers that asked for the failing descriptor.
+ */
 public class JsonHelper {
-    
-    private static RuntimeException cachedException;
+
+    /**
+     * Thrown when a descriptor file could not be read.
+     */
+    private static class DescriptorException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        DescriptorException(ResourceLocation loc, Exception cause) {
+            super("Error loading file " + loc, cause);
+        }
+
+        boolean isMissing() {
+            return getCause() instanceof FileNotFoundException;
+        }
+    }
+
+    /**
+     * Map of values which are each computed once. Values being computed are kept as incomplete futures, which other threads wait on.
+     */
+    private static class Resolver<T> {
+
+        private final Map<ResourceLocation, CompletableFuture<T>> values = new ConcurrentHashMap<>();
+
+        /** The thread resolving each key right now */
+        private final Map<ResourceLocation, Thread> owners = new ConcurrentHashMap<>();
+        /** The key each thread is waiting on. Together with the owners, this finds circular references across threads, which would otherwise wait on each other forever. */
+        private final Map<Thread, ResourceLocation> waiting = new ConcurrentHashMap<>();
+
+        T get(ResourceLocation key, Function<ResourceLocation, T> loader) {
+            CompletableFuture<T> future = values.get(key);
+            if (future == null) {
+                CompletableFuture<T> created = new CompletableFuture<>();
+                future = values.putIfAbsent(key, created);
+                if (future == null) {
+                    return resolve(key, created, loader);
+                }
+            }
+            if (future.isDone()) {
+                return join(future);
+            }
+            Thread current = Thread.currentThread();
+            waiting.put(current, key);
+            try {
+                // Threads register what they wait on before checking, so the last thread to close a cycle always sees all of it
+                if (isWaitingOn(current, key)) {
+                    throw new IllegalStateException("Circular reference to " + key);
+                }
+                return join(future);
+            } finally {
+                waiting.remove(current);
+            }
+        }
+
+        /**
+         * @return If resolving the key waits, through the chain of threads resolving and waiting on other keys, on the given thread.
+         */
+        private boolean isWaitingOn(Thread thread, ResourceLocation key) {
+            Set<Thread> seen = new HashSet<>();
+            Thread owner = owners.get(key);
+            while (owner != null && seen.add(owner)) {
+                if (owner == thread) {
+                    return true;
+                }
+                ResourceLocation next = waiting.get(owner);
+                owner = next == null ? null : owners.get(next);
+            }
+            return false;
+        }
+
+        private T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        private T resolve(ResourceLocation key, CompletableFuture<T> future, Function<ResourceLocation, T> loader) {
+            owners.put(key, Thread.currentThread());
+            try {
+                T value = loader.apply(key);
+                future.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                // Let the next caller try again, but fail everyone waiting right now
+                values.remove(key, future);
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                owners.remove(key);
+            }
+        }
+
+        boolean contains(ResourceLocation key) {
+            CompletableFuture<T> future = values.get(key);
+            return future != null && future.isDone() && !future.isCompletedExceptionally();
+        }
+
+        void clear() {
+            values.clear();
+        }
+    }
 
     private static final Gson gson = new Gson();
 
-    private static Map<ResourceLocation, JsonObject> objectCache = new HashMap<>();
-    private static Map<ResourceLocation, IChiselFace> faceCache = new HashMap<>();
-    private static Map<ResourceLocation, IChiselTexture<?>> textureCache = new HashMap<>();
-    
+    private static final Resolver<JsonObject> objectCache = new Resolver<>();
+    private static final Resolver<IChiselFace> faceCache = new Resolver<>();
+    private static final Resolver<IChiselTexture<?>> textureCache = new Resolver<>();
+
+    private static final @Nullable DescriptorIndex index = DescriptorIndex.load("/assets/chisel/descriptors.bin");
+    /** The resource packs other than Chisel's own, which can replace indexed descriptors. Collected again after every reload. */
+    private static volatile @Nullable List<IResourcePack> overridePacks;
+
     public static final String FACE_EXTENSION = ".cf";
     public static final String TEXTURE_EXTENSION = ".ctx";
     public static final JsonObject NORMAL_TEXTURE = gson.fromJson("{\"type\": \"NORMAL\"}", JsonObject.class);
     public static final String NORMAL_FACE = "{\"textures\":[\".%s\"]}";
 
     private static IChiselFace createFace(ResourceLocation loc) {
-        if (isValidFace(loc)) {
-            JsonObject object = objectCache.get(loc);
-            JsonFace face = gson.fromJson(object, JsonFace.class);
-            IChiselFace cFace = face.get(loc);
-            faceCache.put(loc, cFace);
-            return cFace;
-        }
-        if (cachedException != null && cachedException.getCause() instanceof FileNotFoundException) {
-            objectCache.put(loc, gson.fromJson(String.format(NORMAL_FACE, loc.getResourcePath().substring(loc.getResourcePath().lastIndexOf('/')).replace(".cf", ".ctx")), JsonObject.class));
+        JsonObject object;
+        try {
+            object = getObject(loc, toFaceLocation(loc));
+        } catch (DescriptorException e) {
+            if (!e.isMissing()) {
+                throw e;
+            }
             Chisel.debug("Substituting default face json for missing file " + loc);
-            clearException();
-            return createFace(loc);
+            object = objectCache.get(loc, l -> gson.fromJson(String.format(NORMAL_FACE, l.getResourcePath().substring(l.getResourcePath().lastIndexOf('/')).replace(".cf", ".ctx")), JsonObject.class));
         }
-        throw clearException();
+        if (!isFace(object)) {
+            throw new IllegalArgumentException(loc + " is not a face, it has a 'type' field or no 'textures' field!");
+        }
+        return gson.fromJson(object, JsonFace.class).get(loc);
     }
 
     private static IChiselTexture<?> createTexture(ResourceLocation loc) {
-        if (isCombinedTexture(false, loc)) {
-            JsonObject object = objectCache.get(loc);
-            JsonTexture texture = gson.fromJson(object, JsonTexture.class);
-            IChiselTexture<?> cTexture = texture.get(loc);
-            textureCache.put(loc, cTexture);
-            return cTexture;
-        }
-        if (cachedException != null && cachedException.getCause() instanceof FileNotFoundException) {
-            objectCache.put(loc, NORMAL_TEXTURE);
+        JsonObject object;
+        try {
+            object = getObject(loc, toTextureLocation(loc));
+        } catch (DescriptorException e) {
+            if (!e.isMissing()) {
+                throw e;
+            }
             Chisel.debug("Substituting default texture json for missing file " + loc);
-            clearException();
-            return createTexture(loc);
+            object = objectCache.get(loc, l -> NORMAL_TEXTURE);
         }
-        throw clearException();
+        if (isCombined(object)) {
+            throw new IllegalArgumentException(loc + " is a combined texture, which can only be used as a face!");
+        }
+        return gson.fromJson(object, JsonTexture.class).get(loc);
     }
 
     public static void flushCaches(){
@@ -70,97 +193,153 @@ public class JsonHelper {
         objectCache.clear();
         faceCache.clear();
         textureCache.clear();
+        overridePacks = null;
     }
 
     public static IChiselFace getOrCreateFace(ResourceLocation loc) {
-        if (faceCache.containsKey(loc)) {
-            return faceCache.get(loc);
-        } else {
-            return createFace(loc);
-        }
+        return faceCache.get(loc, JsonHelper::createFace);
     }
 
     public static IChiselTexture<?> getOrCreateTexture(ResourceLocation loc) {
-        if (textureCache.containsKey(loc)) {
-            return textureCache.get(loc);
-        } else {
-            return createTexture(loc);
-        }
+        return textureCache.get(loc, JsonHelper::createTexture);
     }
 
     public static boolean isValidTexture(ResourceLocation loc) {
-        ResourceLocation absolute = new ResourceLocation(loc.getResourceDomain(), "textures/blocks/" + loc.getResourcePath());
-        return isValid(loc, absolute);
+        return isValid(loc, toTextureLocation(loc));
     }
-    
+
     public static boolean isValidFace(ResourceLocation loc) {
-        // TODO put this somewhere statically accessible
-        ResourceLocation absolute = new ResourceLocation(loc.getResourceDomain(), "models/block/" + loc.getResourcePath());
-        if (isValid(loc, absolute)) {
-            JsonObject obj = objectCache.get(loc);
-            return obj.has("textures") && !obj.has("type");
+        JsonObject object;
+        try {
+            object = getObject(loc, toFaceLocation(loc));
+        } catch (DescriptorException e) {
+            return false;
         }
-        return false;
+        return isFace(object);
+    }
+
+    private static ResourceLocation toTextureLocation(ResourceLocation loc) {
+        return new ResourceLocation(loc.getResourceDomain(), "textures/blocks/" + loc.getResourcePath());
+    }
+
+    private static ResourceLocation toFaceLocation(ResourceLocation loc) {
+        return new ResourceLocation(loc.getResourceDomain(), "models/block/" + loc.getResourcePath());
+    }
+
+    private static boolean isFace(JsonObject object) {
+        return object.has("textures") && !object.has("type");
     }
-    
+
+    private static boolean isCombined(JsonObject object) {
+        return object.has("children") && !object.has("type");
+    }
+
     private static boolean isValid(ResourceLocation relative, ResourceLocation absolute) {
-        clearException();
-        if (objectCache.containsKey(relative)) {
+        try {
+            getObject(relative, absolute);
             return true;
+        } catch (DescriptorException e) {
+            return false;
         }
+    }
+
+    /**
+     * Gets the json of a descriptor, reading it from the given file the first time it is needed.
+     *
+     * @throws DescriptorException
+     *             If the file could not be read.
+     */
+    private static JsonObject getObject(ResourceLocation relative, ResourceLocation absolute) {
+        return objectCache.get(relative, l -> readObject(l, absolute));
+    }
+
+    private static JsonObject readObject(ResourceLocation relative, ResourceLocation absolute) {
         if (!isLoadable(absolute)) {
-            objectCache.put(relative, NORMAL_TEXTURE);
-            return true;
+            return NORMAL_TEXTURE;
         }
-        
-        JsonObject object;
 
-        try {
-            object = gson.fromJson(new InputStreamReader(Minecraft.getMinecraft().getResourceManager().getResource(absolute).getInputStream()), JsonObject.class);
+        JsonObject object = readIndexed(absolute);
+        if (object != null) {
+            return object;
+        }
+
+        try (InputStreamReader reader = new InputStreamReader(Minecraft.getMinecraft().getResourceManager().getResource(absolute).getInputStream())) {
+            object = gson.fromJson(reader, JsonObject.class);
         } catch (JsonSyntaxException | IOException e) {
-            cachedException = new RuntimeException("Error loading file " + absolute, e);
-            return false;
+            throw new DescriptorException(absolute, e);
         }
 
         if (object.has("textures") || object.has("type")) {
-            objectCache.put(relative, object);
-            return true;
+            return object;
         } else {
             throw new IllegalArgumentException(relative + " does not have a 'textures' and/or 'type' field!");
         }
     }
-    
+
+    /**
+     * @return The descriptor from the {@link DescriptorIndex index} of bundled descriptors, or null if it is not in there or a resource pack replaces it.
+     */
+    private static @Nullable JsonObject readIndexed(ResourceLocation loc) {
+        DescriptorIndex index = JsonHelper.index;
+        if (index == null || !index.contains(loc) || isOverridden(loc)) {
+            return null;
+        }
+        return index.get(loc);
+    }
+
+    /**
+     * @return If the file is in any resource pack other than Chisel's own, which would replace the file bundled with the mod. This includes other mods and the user's or server's packs.
+     */
+    private static boolean isOverridden(ResourceLocation loc) {
+        List<IResourcePack> packs = overridePacks;
+        if (packs == null) {
+            ResourcePackRepository repository = Minecraft.getMinecraft().getResourcePackRepository();
+            IResourcePack own = FMLClientHandler.instance().getResourcePackFor(Chisel.MOD_ID);
+            packs = new ArrayList<>();
+            for (IResourcePack pack : Minecraft.getMinecraft().defaultResourcePacks) {
+                if (pack != own) {
+                    packs.add(pack);
+                }
+            }
+            for (ResourcePackRepository.Entry entry : repository.getRepositoryEntries()) {
+                packs.add(entry.getResourcePack());
+            }
+            if (repository.getResourcePackInstance() != null) {
+                packs.add(repository.getResourcePackInstance());
+            }
+            overridePacks = packs;
+        }
+        for (IResourcePack pack : packs) {
+            if (pack.resourceExists(loc)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean isLoadable(ResourceLocation loc) {
         return loc.getResourcePath().endsWith(TEXTURE_EXTENSION) || loc.getResourcePath().endsWith(FACE_EXTENSION);
     }
 
     public static boolean isCombinedTexture(boolean combined, ResourceLocation loc) {
         if (isValidTexture(loc)) {
-            JsonObject object = objectCache.get(loc);
-            boolean ret = object.has("children") && !object.has("type");
-            return ret == combined;
+            return isCombined(getObject(loc, toTextureLocation(loc))) == combined;
         }
         return false;
     }
-    
-    public static RuntimeException clearException() {
-        RuntimeException e = cachedException;
-        cachedException = null;
-        return e;
-    }
 
     public static boolean isFace(ResourceLocation loc){
-        return faceCache.containsKey(loc);
+        return faceCache.contains(loc);
     }
 
     public static boolean isTex(ResourceLocation loc){
-        return textureCache.containsKey(loc);
+        return textureCache.contains(loc);
     }
 
     public static boolean isLocalPath(String path) {
         return path.startsWith("./");
     }
-    
+
     public static String toAbsolutePath(String localPath, ResourceLocation loc) {
         String path = loc.getResourcePath();
         path = path.substring(0, path.lastIndexOf('/') + 1);
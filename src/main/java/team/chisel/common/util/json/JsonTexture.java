@@ -58,35 +58,39 @@ public class JsonTexture extends JsonObjectBase<IChiselTexture<?>> {
         }
 
         TextureSpriteCallback[] callbacks = new TextureSpriteCallback[type.requiredTextures()];
-        if (textures == null) {
-            callbacks[0] = new TextureSpriteCallback(new ResourceLocation(loc.getResourceDomain(), JsonHelper.toTexturePath(loc.getResourcePath())));
-            TextureStitcher.register(callbacks[0]);
-        } else {
-            for (int i = 0; i < this.textures.length; i++) {
-                String tex = this.textures[i];
-                if (JsonHelper.isLocalPath(tex)) {
-                    // TODO a better way to fix prefixing
-                    String path = JsonHelper.toAbsolutePath(tex, loc);
-                    path = path.substring(path.indexOf(':') + 1);
-                    tex = JsonHelper.toTexturePath(path);
+        try {
+            if (textures == null) {
+                callbacks[0] = TextureStitcher.acquire(new ResourceLocation(loc.getResourceDomain(), JsonHelper.toTexturePath(loc.getResourcePath())));
+            } else {
+                for (int i = 0; i < this.textures.length; i++) {
+                    String tex = this.textures[i];
+                    if (JsonHelper.isLocalPath(tex)) {
+                        // TODO a better way to fix prefixing
+                        String path = JsonHelper.toAbsolutePath(tex, loc);
+                        path = path.substring(path.indexOf(':') + 1);
+                        tex = JsonHelper.toTexturePath(path);
+                    }
+                    callbacks[i] = TextureStitcher.acquire(new ResourceLocation(loc.getResourceDomain(), tex));
                 }
-                callbacks[i] = new TextureSpriteCallback(new ResourceLocation(loc.getResourceDomain(), tex));
-                TextureStitcher.register(callbacks[i]);
             }
-        }
 
-        BlockRenderLayer layerObj = layer == null ? BlockRenderLayer.SOLID : BlockRenderLayer.valueOf(layer.toUpperCase(Locale.US));
-        TextureInfo textureInfo;
-        if (info != null){
-            textureInfo = new TextureInfo(callbacks, Optional.of(info), layerObj, fullbright);
-        }
-        else {
-            textureInfo = new TextureInfo(callbacks, Optional.empty(), layerObj, fullbright);
-        }
+            BlockRenderLayer layerObj = layer == null ? BlockRenderLayer.SOLID : BlockRenderLayer.valueOf(layer.toUpperCase(Locale.US));
+            TextureInfo textureInfo;
+            if (info != null){
+                textureInfo = new TextureInfo(callbacks, Optional.of(info), layerObj, fullbright);
+            }
+            else {
+                textureInfo = new TextureInfo(callbacks, Optional.empty(), layerObj, fullbright);
+            }
 
-        try {
             return type.makeTexture(textureInfo);
         } catch (RuntimeException e) {
+            // Give up every sprite acquired before the failure, the texture will never use them
+            for (TextureSpriteCallback callback : callbacks) {
+                if (callback != null) {
+                    TextureStitcher.release(callback.getLocation());
+                }
+            }
             throw new RuntimeException("Failed loading texture " + loc, e);
         }
     }